@@ -6,10 +6,15 @@ import com.booking.repository.TaskRepository;
 import com.booking.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 @Component
 @RequiredArgsConstructor
@@ -19,12 +24,25 @@ public class DataInitializer implements CommandLineRunner {
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    
+    // Extra generated data for load testing; both default to none
+    @Value("${booking.seed.users:0}")
+    private int seedUsers;
+    
+    @Value("${booking.seed.tasks:0}")
+    private int seedTasks;
+    
+    private static final int SEED_BATCH_SIZE = 1000;
     
     @Override
     public void run(String... args) {
         if (userRepository.count() == 0) {
             initializeUsers();
             initializeTasks();
+            if (seedUsers > 0 || seedTasks > 0) {
+                seedLargeDataset();
+            }
         }
     }
     
@@ -127,4 +145,46 @@ public class DataInitializer implements CommandLineRunner {
         
         log.info("✅ Initialized 5 sample tasks (3 pending, 1 approved, 1 rejected)");
     }
+    
+    // Users are load-user-1..N with password123, every tenth one a manager; tasks are spread over those users
+    // and a year either side of today. Inserted with JDBC batches since this can be hundreds of thousands of rows.
+    private void seedLargeDataset() {
+        Random random = new Random(42);
+        String password = passwordEncoder.encode("password123");
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= seedUsers; i++) {
+            users.add(new Object[]{"load-user-" + i, password, "Load User " + i, "load-user-" + i + "@booking.com",
+                    (i % 10 == 0 ? User.Role.MANAGER : User.Role.USER).name()});
+            if (users.size() == SEED_BATCH_SIZE || i == seedUsers) {
+                jdbcTemplate.batchUpdate("INSERT INTO users (username, password, name, email, role) VALUES (?, ?, ?, ?, ?)",
+                        users);
+                users.clear();
+            }
+        }
+        
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        List<Long> managerIds = userRepository.findByRole(User.Role.MANAGER).stream().map(User::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> tasks = new ArrayList<>();
+        for (int i = 1; i <= seedTasks; i++) {
+            Task.Priority priority = Task.Priority.values()[random.nextInt(3)];
+            int roll = random.nextInt(100);
+            Task.Status status = roll < 60 ? Task.Status.PENDING : roll < 85 ? Task.Status.APPROVED : Task.Status.REJECTED;
+            LocalDateTime createdDate = now.minusMinutes(random.nextInt(365 * 24 * 60));
+            Long approvedBy = status == Task.Status.PENDING ? null : managerIds.get(random.nextInt(managerIds.size()));
+            tasks.add(new Object[]{"Load task " + i, "Generated task " + i + " for load testing", status.name(),
+                    priority.name(), priority.getRank(), userIds.get(random.nextInt(userIds.size())),
+                    userIds.get(random.nextInt(userIds.size())), createdDate,
+                    now.plusMinutes(random.nextInt(2 * 365 * 24 * 60) - 365 * 24 * 60), approvedBy,
+                    approvedBy != null ? createdDate.plusHours(1 + random.nextInt(48)) : null});
+            if (tasks.size() == SEED_BATCH_SIZE || i == seedTasks) {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks (title, description, status, priority, priority_rank, "
+                        + "assigned_user_id, created_by, created_date, scheduled_date, approved_by, approval_date) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+                tasks.clear();
+            }
+        }
+        
+        log.info("✅ Seeded {} load-test users and {} load-test tasks", seedUsers, seedTasks);
+    }
 }
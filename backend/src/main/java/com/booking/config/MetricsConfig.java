@@ -0,0 +1,54 @@
+package com.booking.config;
+
+import com.booking.metrics.RequestSqlMetricsFilter;
+import com.booking.metrics.SqlStatementMetrics;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    // Backs the class-level @Timed on the services
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public static SqlStatementMetrics sqlStatementMetrics(ObjectProvider<MeterRegistry> registry) {
+        return new SqlStatementMetrics(registry::getObject);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(ObjectProvider<SqlStatementMetrics> sqlMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? sqlMetrics.getObject().wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    // Spring Boot applies it to the application task executor, which also runs MVC async work such as a
+    // StreamingResponseBody, so the SQL that work runs is tallied against its request
+    @Bean
+    public TaskDecorator sqlTallyTaskDecorator(SqlStatementMetrics sqlMetrics) {
+        return sqlMetrics::carryRequestTally;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestSqlMetricsFilter> requestSqlMetricsFilter(SqlStatementMetrics sqlMetrics,
+                                                                                   MeterRegistry registry) {
+        FilterRegistrationBean<RequestSqlMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestSqlMetricsFilter(sqlMetrics, registry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
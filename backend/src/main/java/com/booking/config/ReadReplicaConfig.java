@@ -0,0 +1,78 @@
+package com.booking.config;
+
+import com.booking.datasource.ReadReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured DataSource when replicas are listed. Connections are fetched lazily, on the
+// first statement, so @Transactional(readOnly = true) has already marked them read-only and they are taken
+// from ReadReplicaRouting; everything else, including Flyway and the schema check, uses the primary.
+@Configuration
+@ConditionalOnExpression("!'${booking.datasource.replica.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaRouting readReplicaRouting(DataSourceProperties properties, Environment environment,
+                                                 @Value("${booking.datasource.replica.urls}") List<String> replicaUrls,
+                                                 @Value("${booking.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                                 @Value("${booking.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                                 @Value("${booking.datasource.replica.max-lag:PT1S}") Duration maxLag,
+                                                 @Value("${booking.datasource.replica.migrate:false}") boolean migrate) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(properties, binder, "booking-primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = pool(properties, binder, "booking-replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            if (migrate) {
+                // Local setups only: stand-alone databases that nothing replicates the schema into
+                migrate(replica, environment);
+            }
+            replicas.add(replica);
+        }
+        return new ReadReplicaRouting(primary, replicas, maxLag);
+    }
+
+    @Bean
+    public DataSource dataSource(ReadReplicaRouting routing) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing.primary());
+        dataSource.setReadOnlyDataSource(routing.readOnlyDataSource());
+        return dataSource;
+    }
+
+    // Built like the auto-configured pool, spring.datasource.hikari.* included
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String poolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        return pool;
+    }
+
+    private static void migrate(HikariDataSource replica, Environment environment) {
+        String vendor = DatabaseDriver.fromJdbcUrl(replica.getJdbcUrl()).getId();
+        String[] locations = environment.getProperty("spring.flyway.locations", String[].class,
+                new String[] {"classpath:db/migration"});
+        for (int i = 0; i < locations.length; i++) {
+            locations[i] = locations[i].replace("{vendor}", vendor);
+        }
+        Flyway.configure().dataSource(replica).locations(locations).load().migrate();
+    }
+}
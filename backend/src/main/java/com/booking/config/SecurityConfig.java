@@ -1,28 +1,45 @@
 package com.booking.config;
 
+import com.booking.security.AuthTokenService;
+import com.booking.security.BoundedPasswordEncoder;
+import com.booking.security.TokenAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
+    // Raising the strength rehashes each user's password at their next login, see AuthService
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${booking.auth.bcrypt-strength:10}") int strength,
+                                           @Value("${booking.auth.hash-lane.enabled:true}") boolean laneEnabled,
+                                           @Value("${booking.auth.hash-lane.threads:0}") int threads,
+                                           @Value("${booking.auth.hash-lane.queue-capacity:64}") int queueCapacity,
+                                           @Value("${booking.auth.hash-lane.timeout:PT5S}") Duration timeout) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        if (!laneEnabled) {
+            return bcrypt;
+        }
+        int laneThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcrypt, laneThreads, queueCapacity, timeout);
     }
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthTokenService tokenService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
@@ -31,11 +48,21 @@ public class SecurityConfig {
                     .requestMatchers("/api/tasks/**").permitAll()
                     .requestMatchers("/api/users/**").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                // Only the endpoints in management.endpoints.web.exposure.include are mapped
+                .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/", "/index.html", "/static/**", "/assets/**", "/*.js", "/*.css", "/*.ico", "/*.png", "/*.svg").permitAll()
                 .anyRequest().authenticated()
             )
-            .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()))
-            .sessionManagement(session -> session.maximumSessions(1));
+            .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
+        
+        if (tokenService.isEnabled()) {
+            // Stateless: no container sessions and no session registry on the request path
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), SecurityContextHolderFilter.class);
+        } else {
+            http.sessionManagement(session -> session.maximumSessions(1));
+        }
         
         return http.build();
     }
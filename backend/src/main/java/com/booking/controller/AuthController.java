@@ -3,9 +3,13 @@ package com.booking.controller;
 import com.booking.dto.LoginRequest;
 import com.booking.dto.LoginResponse;
 import com.booking.entity.User;
+import com.booking.exception.PasswordCheckRejectedException;
+import com.booking.security.AuthTokenService;
+import com.booking.security.AuthenticatedUser;
 import com.booking.service.AuthService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,14 +20,23 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     
     private final AuthService authService;
+    private final AuthTokenService tokenService;
     
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpSession session) {
         try {
             LoginResponse response = authService.login(request);
-            session.setAttribute("userId", response.getId());
-            session.setAttribute("userRole", response.getRole());
+            AuthenticatedUser principal = new AuthenticatedUser(response.getId(), response.getName(), response.getRole());
+            principal.storeIn(session);
+            if (tokenService.isEnabled()) {
+                response.setToken(tokenService.issue(principal));
+            }
             return ResponseEntity.ok(response);
+        } catch (PasswordCheckRejectedException e) {
+            // Hashing lane saturated: shed the login quickly rather than queue it behind the burst
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -0,0 +1,59 @@
+package com.booking.controller;
+
+import com.booking.dto.TaskColumns;
+import com.booking.dto.TaskPage;
+import com.booking.dto.TaskResponse;
+import com.booking.dto.TaskSearchResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import java.time.ZoneId;
+import java.util.List;
+
+// Lets the task list endpoints answer in TaskColumns form when the client asks for it with
+// Accept: application/vnd.booking.tasks+json. Jackson already writes any application/*+json type, so content
+// negotiation picks that media type and this only swaps the body before it is written.
+@RestControllerAdvice(assignableTypes = TaskController.class)
+public class TaskColumnsAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final MediaType TASK_COLUMNS = MediaType.parseMediaType(TaskColumns.MEDIA_TYPE);
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        boolean taskList = body instanceof List || body instanceof TaskPage || body instanceof TaskSearchResponse;
+        if (!taskList) {
+            return body;
+        }
+        // Both forms are served from one URL, so caches must keep them apart by Accept. GET /api/tasks sets
+        // this itself, so its 304s carry it too.
+        if (!response.getHeaders().getVary().contains(HttpHeaders.ACCEPT)) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (!TASK_COLUMNS.equalsTypeAndSubtype(selectedContentType)) {
+            return body;
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        if (body instanceof TaskPage page) {
+            return TaskColumns.of(page, zone);
+        }
+        if (body instanceof TaskSearchResponse search) {
+            return TaskColumns.of(search, zone);
+        }
+        // Every list TaskController returns is a task list
+        return TaskColumns.of((List<TaskResponse>) body, zone);
+    }
+}
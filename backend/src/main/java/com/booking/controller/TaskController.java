@@ -1,18 +1,41 @@
 package com.booking.controller;
 
+import com.booking.dto.BulkDecisionRequest;
+import com.booking.dto.BulkDecisionResponse;
+import com.booking.dto.TaskColumns;
+import com.booking.dto.TaskQuery;
 import com.booking.dto.TaskRequest;
 import com.booking.dto.TaskResponse;
+import com.booking.dto.TaskSearchResponse;
+import com.booking.dto.TaskStatisticsResponse;
 import com.booking.entity.Task;
+import com.booking.exception.TaskConflictException;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.TaskChangeVersion;
+import com.booking.service.TaskEventFeed;
+import com.booking.service.TaskImportService;
+import com.booking.service.TaskStatistics;
 import com.booking.service.TaskService;
 import com.booking.util.CsvExporter;
+import com.booking.util.TaskImportReader;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,8 +45,14 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TaskController {
     
+    private static final MediaType TASK_COLUMNS = MediaType.parseMediaType(TaskColumns.MEDIA_TYPE);
+    
     private final TaskService taskService;
     private final CsvExporter csvExporter;
+    private final TaskChangeVersion changeVersion;
+    private final TaskEventFeed eventFeed;
+    private final TaskImportService taskImportService;
+    private final TaskStatistics taskStatistics;
     
     @PostMapping
     public ResponseEntity<?> createTask(@Valid @RequestBody TaskRequest request, HttpSession session) {
@@ -40,29 +69,132 @@ public class TaskController {
         }
     }
     
+    // Streams the upload straight from the request body; per-row problems are reported, not fatal
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                         InputStream body, HttpSession session) {
+        try {
+            AuthenticatedUser principal = (AuthenticatedUser) session.getAttribute(AuthenticatedUser.SESSION_ATTRIBUTE);
+            if (principal == null) {
+                return ResponseEntity.status(401).body(new ErrorResponse("Not authenticated"));
+            }
+            
+            TaskImportReader.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                    ? TaskImportReader.Format.CSV : TaskImportReader.Format.NDJSON;
+            return ResponseEntity.ok(taskImportService.importTasks(body, format, principal));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks(
+    public ResponseEntity<?> getAllTasks(
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
             @RequestParam(required = false) Long assignedUserId,
-            @RequestParam(required = false) Long createdBy) {
+            @RequestParam(required = false) Long createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime scheduledTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse servletResponse,
+            WebRequest webRequest) {
+        
+        // The JSON and TaskColumns forms differ, so caches must keep them apart by Accept, 304s included
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        MediaType form = taskListForm(accept);
         
-        if (status != null) {
-            Task.Status taskStatus = Task.Status.valueOf(status.toUpperCase());
-            return ResponseEntity.ok(taskService.getTasksByStatus(taskStatus));
-        } else if (assignedUserId != null) {
-            return ResponseEntity.ok(taskService.getTasksByAssignedUser(assignedUserId));
-        } else if (createdBy != null) {
-            return ResponseEntity.ok(taskService.getTasksByCreator(createdBy));
+        // Read before querying: a write landing in between only costs the client one extra full response
+        TaskChangeVersion.Snapshot version = changeVersion.current();
+        String etag = version.etag(TASK_COLUMNS.equals(form) ? "columns" : null);
+        if (webRequest.checkNotModified(etag, version.lastModified())) {
+            return null;
         }
         
-        return ResponseEntity.ok(taskService.getAllTasks());
+        try {
+            TaskQuery query = new TaskQuery(
+                    status != null ? Task.Status.valueOf(status.toUpperCase()) : null,
+                    priority != null ? Task.Priority.valueOf(priority.toUpperCase()) : null,
+                    assignedUserId, createdBy, scheduledFrom, scheduledTo, createdFrom, createdTo);
+            
+            // Keyset pagination is opt-in so existing clients keep receiving the plain list
+            if (cursor != null || limit != null) {
+                return taskList(version, etag, form).body(taskService.searchTaskPage(query, cursor, limit));
+            }
+            return taskList(version, etag, form).body(taskService.searchTasks(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    // Keyword search over title and description; every word must match, as a whole word or as its start
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long assignedUserId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (q.isBlank()) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("Search text is required"));
+            }
+            TaskSearchResponse response = taskService.searchTaskText(q,
+                    status != null ? Task.Status.valueOf(status.toUpperCase()) : null, assignedUserId, limit);
+            if (response == null) {
+                return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "5")
+                        .body(new ErrorResponse("Search index is still loading"));
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/approval-queue")
+    public ResponseEntity<?> getApprovalQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(taskService.getApprovalQueue(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    // Served from counters kept in memory, never from the tasks table
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatisticsResponse> getTaskStatistics() {
+        return ResponseEntity.ok(taskStatistics.current());
+    }
+    
+    // Pushes created/approved/rejected events instead of having clients poll the list
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTaskEvents(HttpSession session) {
+        AuthenticatedUser principal = (AuthenticatedUser) session.getAttribute(AuthenticatedUser.SESSION_ATTRIBUTE);
+        if (principal == null) {
+            return ResponseEntity.status(401).build();
+        }
+        
+        SseEmitter emitter = eventFeed.subscribe(principal);
+        if (emitter == null) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<?> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, WebRequest webRequest) {
+        TaskChangeVersion.Snapshot version = changeVersion.current();
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+        
         try {
             TaskResponse response = taskService.getTaskById(id);
-            return ResponseEntity.ok(response);
+            return conditional(version).body(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -71,13 +203,15 @@ public class TaskController {
     @PutMapping("/{id}/approve")
     public ResponseEntity<?> approveTask(@PathVariable Long id, HttpSession session) {
         try {
-            Long userId = (Long) session.getAttribute("userId");
-            if (userId == null) {
+            AuthenticatedUser principal = (AuthenticatedUser) session.getAttribute(AuthenticatedUser.SESSION_ATTRIBUTE);
+            if (principal == null) {
                 return ResponseEntity.status(401).body(new ErrorResponse("Not authenticated"));
             }
             
-            TaskResponse response = taskService.approveTask(id, userId);
+            TaskResponse response = taskService.approveTask(id, principal);
             return ResponseEntity.ok(response);
+        } catch (TaskConflictException e) {
+            return ResponseEntity.status(409).body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -86,12 +220,30 @@ public class TaskController {
     @PutMapping("/{id}/reject")
     public ResponseEntity<?> rejectTask(@PathVariable Long id, HttpSession session) {
         try {
-            Long userId = (Long) session.getAttribute("userId");
-            if (userId == null) {
+            AuthenticatedUser principal = (AuthenticatedUser) session.getAttribute(AuthenticatedUser.SESSION_ATTRIBUTE);
+            if (principal == null) {
                 return ResponseEntity.status(401).body(new ErrorResponse("Not authenticated"));
             }
             
-            TaskResponse response = taskService.rejectTask(id, userId);
+            TaskResponse response = taskService.rejectTask(id, principal);
+            return ResponseEntity.ok(response);
+        } catch (TaskConflictException e) {
+            return ResponseEntity.status(409).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/decisions")
+    public ResponseEntity<?> decideTasks(@Valid @RequestBody BulkDecisionRequest request, HttpSession session) {
+        try {
+            AuthenticatedUser principal = (AuthenticatedUser) session.getAttribute(AuthenticatedUser.SESSION_ATTRIBUTE);
+            if (principal == null) {
+                return ResponseEntity.status(401).body(new ErrorResponse("Not authenticated"));
+            }
+            
+            BulkDecisionResponse response = taskService.decideTasks(
+                    request.getTaskIds(), request.getDecision().getStatus(), principal);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
@@ -107,17 +259,75 @@ public class TaskController {
     }
     
     @GetMapping("/export/csv")
-    public ResponseEntity<byte[]> exportTasksToCsv() {
-        List<TaskResponse> tasks = taskService.getAllTasks();
-        byte[] csvData = csvExporter.exportTasksToCsv(tasks);
-        
+    public ResponseEntity<StreamingResponseBody> exportTasksToCsv() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("text/csv"));
         headers.setContentDispositionFormData("attachment", "tasks.csv");
         
+        // Rows are written to the response as each chunk is read, never buffered as a whole
+        StreamingResponseBody body = outputStream -> {
+            try (CsvExporter.TaskCsvWriter writer = csvExporter.open(outputStream)) {
+                taskService.forEachTaskChunk(chunk -> {
+                    try {
+                        for (TaskResponse task : chunk) {
+                            writer.writeRow(task);
+                        }
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(csvData);
+                .body(body);
+    }
+    
+    // no-cache makes clients revalidate every poll, which the checks above answer without the database
+    private static ResponseEntity.BodyBuilder conditional(TaskChangeVersion.Snapshot version) {
+        return conditional(version.etag(), version.lastModified());
+    }
+    
+    private static ResponseEntity.BodyBuilder conditional(String etag, long lastModified) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache());
+    }
+    
+    // Written in the form its ETag names; a preset content type is used as is by content negotiation
+    private static ResponseEntity.BodyBuilder taskList(TaskChangeVersion.Snapshot version, String etag,
+                                                      MediaType form) {
+        ResponseEntity.BodyBuilder builder = conditional(etag, version.lastModified());
+        return form != null ? builder.contentType(form) : builder;
+    }
+    
+    // The task list form content negotiation would pick for this Accept header, or null when it would pick
+    // neither and answer 406
+    private static MediaType taskListForm(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(types);
+            for (MediaType type : types) {
+                if (type.getQualityValue() == 0) {
+                    continue;
+                }
+                if (TASK_COLUMNS.equalsTypeAndSubtype(type)) {
+                    return TASK_COLUMNS;
+                }
+                if (type.includes(MediaType.APPLICATION_JSON)) {
+                    return MediaType.APPLICATION_JSON;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Left to content negotiation, which rejects it
+        }
+        return null;
     }
     
     record ErrorResponse(String error) {}
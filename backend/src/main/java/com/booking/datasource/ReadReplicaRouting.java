@@ -0,0 +1,99 @@
+package com.booking.datasource;
+
+import com.booking.event.TaskChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Picks the database for read-only transactions: the replicas in turn, except within max-lag of the last
+// committed task write, when a replica may not have it yet and the primary serves the read instead.
+// This gives read-your-writes after createTask and keeps a fresh ETag from being paired with stale rows.
+// Writes made through other nodes count from when TaskChangeVersion publishes them.
+public class ReadReplicaRouting implements MeterBinder, AutoCloseable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long maxLagNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+    // Startup counts as a write, so data seeded before the first event is not read from a lagging replica
+    private volatile long lastWriteNanos = System.nanoTime();
+
+    private final DataSource readOnlyDataSource = new AbstractDataSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readTarget().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return readTarget().getConnection(username, password);
+        }
+    };
+
+    public ReadReplicaRouting(DataSource primary, List<DataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public DataSource readOnlyDataSource() {
+        return readOnlyDataSource;
+    }
+
+    // Runs before the other listeners so no request can see the new ETag and still be routed to a replica
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lastWriteNanos = System.nanoTime();
+    }
+
+    private DataSource readTarget() {
+        if (replicas.isEmpty() || System.nanoTime() - lastWriteNanos < maxLagNanos) {
+            primaryReads.increment();
+            return primary;
+        }
+        replicaReads.increment();
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("booking.datasource.reads", primaryReads, LongAdder::sum)
+                .description("Read-only transactions by the database that served them")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("booking.datasource.reads", replicaReads, LongAdder::sum)
+                .description("Read-only transactions by the database that served them")
+                .tag("target", "replica")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : replicas) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
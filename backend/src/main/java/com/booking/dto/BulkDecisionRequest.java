@@ -0,0 +1,38 @@
+package com.booking.dto;
+
+import com.booking.entity.Task;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionRequest {
+    
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 5000, message = "At most 5000 tasks can be decided at once")
+    private List<Long> taskIds;
+    
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+    
+    public enum Decision {
+        APPROVE(Task.Status.APPROVED),
+        REJECT(Task.Status.REJECTED);
+        
+        private final Task.Status status;
+        
+        Decision(Task.Status status) {
+            this.status = status;
+        }
+        
+        public Task.Status getStatus() {
+            return status;
+        }
+    }
+}
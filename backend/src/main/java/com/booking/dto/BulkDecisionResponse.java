@@ -0,0 +1,30 @@
+package com.booking.dto;
+
+import com.booking.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionResponse {
+    private int applied;
+    private List<Result> results;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private Long taskId;
+        private Outcome outcome;
+        private Task.Status status;
+    }
+    
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        ALREADY_DECIDED
+    }
+}
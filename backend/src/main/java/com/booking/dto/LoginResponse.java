@@ -1,6 +1,7 @@
 package com.booking.dto;
 
 import com.booking.entity.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,6 +17,10 @@ public class LoginResponse {
     private User.Role role;
     private String message;
     
+    // Bearer token for the stateless auth mode; omitted in session mode
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String token;
+    
     public LoginResponse(User user, String message) {
         this.id = user.getId();
         this.username = user.getUsername();
@@ -0,0 +1,95 @@
+package com.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Columnar form of a task list, sent when a client accepts MEDIA_TYPE. Each field name appears once with one
+// value per task in list order, dates are epoch milliseconds (server time zone), and user names are sent once
+// in users, keyed by id, instead of beside every id that refers to them. Columns backed by NOT NULL columns of
+// the tasks table are primitive arrays.
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskColumns {
+
+    public static final String MEDIA_TYPE = "application/vnd.booking.tasks+json";
+
+    private final int count;
+    private final long[] id;
+    private final String[] title;
+    private final String[] description;
+    private final String[] status;
+    private final String[] priority;
+    private final long[] assignedUserId;
+    private final long[] createdBy;
+    private final long[] createdDate;
+    private final long[] scheduledDate;
+    private final Long[] approvedBy;
+    private final Long[] approvalDate;
+    private final Map<Long, String> users = new LinkedHashMap<>();
+
+    // Carried over from TaskPage and TaskSearchResponse
+    private String nextCursor;
+    private Integer totalHits;
+
+    private TaskColumns(int count) {
+        this.count = count;
+        id = new long[count];
+        title = new String[count];
+        description = new String[count];
+        status = new String[count];
+        priority = new String[count];
+        assignedUserId = new long[count];
+        createdBy = new long[count];
+        createdDate = new long[count];
+        scheduledDate = new long[count];
+        approvedBy = new Long[count];
+        approvalDate = new Long[count];
+    }
+
+    public static TaskColumns of(List<TaskResponse> tasks, ZoneId zone) {
+        TaskColumns columns = new TaskColumns(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResponse task = tasks.get(i);
+            columns.id[i] = task.getId();
+            columns.title[i] = task.getTitle();
+            columns.description[i] = task.getDescription();
+            columns.status[i] = task.getStatus() != null ? task.getStatus().name() : null;
+            columns.priority[i] = task.getPriority() != null ? task.getPriority().name() : null;
+            columns.assignedUserId[i] = columns.user(task.getAssignedUserId(), task.getAssignedUserName());
+            columns.createdBy[i] = columns.user(task.getCreatedBy(), task.getCreatedByName());
+            columns.approvedBy[i] = columns.user(task.getApprovedBy(), task.getApprovedByName());
+            columns.createdDate[i] = epochMillis(task.getCreatedDate(), zone);
+            columns.scheduledDate[i] = epochMillis(task.getScheduledDate(), zone);
+            columns.approvalDate[i] = epochMillis(task.getApprovalDate(), zone);
+        }
+        return columns;
+    }
+
+    public static TaskColumns of(TaskPage page, ZoneId zone) {
+        TaskColumns columns = of(page.getTasks(), zone);
+        columns.nextCursor = page.getNextCursor();
+        return columns;
+    }
+
+    public static TaskColumns of(TaskSearchResponse response, ZoneId zone) {
+        TaskColumns columns = of(response.getTasks(), zone);
+        columns.totalHits = response.getTotalHits();
+        return columns;
+    }
+
+    private Long user(Long userId, String name) {
+        if (userId != null && name != null) {
+            users.putIfAbsent(userId, name);
+        }
+        return userId;
+    }
+
+    private static Long epochMillis(LocalDateTime dateTime, ZoneId zone) {
+        return dateTime != null ? dateTime.atZone(zone).toInstant().toEpochMilli() : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPage {
+    private List<TaskResponse> tasks;
+    private String nextCursor;
+}
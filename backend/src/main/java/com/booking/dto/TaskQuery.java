@@ -0,0 +1,21 @@
+package com.booking.dto;
+
+import com.booking.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskQuery {
+    private Task.Status status;
+    private Task.Priority priority;
+    private Long assignedUserId;
+    private Long createdBy;
+    private LocalDateTime scheduledFrom;
+    private LocalDateTime scheduledTo;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+}
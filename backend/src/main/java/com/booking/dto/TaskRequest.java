@@ -3,6 +3,7 @@ package com.booking.dto;
 import com.booking.entity.Task;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,8 +15,10 @@ import java.time.LocalDateTime;
 public class TaskRequest {
     
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
     
+    @Size(max = 1000, message = "Description must be at most 1000 characters")
     private String description;
     
     @NotNull(message = "Priority is required")
@@ -0,0 +1,15 @@
+package com.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+    // Every task matching the query and filters; tasks holds the best ranked of them, best first
+    private int totalHits;
+    private List<TaskResponse> tasks;
+}
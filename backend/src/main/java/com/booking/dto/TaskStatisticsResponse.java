@@ -0,0 +1,28 @@
+package com.booking.dto;
+
+import com.booking.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatisticsResponse {
+    private long total;
+    private Map<Task.Status, Long> byStatus;
+    private Map<Task.Priority, Long> byPriority;
+    private List<AssigneeCount> byAssignee;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssigneeCount {
+        private Long userId;
+        private String userName;
+        private long total;
+        private Map<Task.Status, Long> byStatus;
+    }
+}
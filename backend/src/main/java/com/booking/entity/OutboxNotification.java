@@ -0,0 +1,54 @@
+package com.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxNotification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long taskId;
+    
+    @Column(nullable = false)
+    private String taskTitle;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Task.Status decision;
+    
+    @Column(nullable = false)
+    private String actorName;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private User.Role actorRole;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    // Null once delivery has been given up on
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(length = 1000)
+    private String lastError;
+    
+    // Set while a dispatcher is sending the notification; the claim lapses at claimedUntil
+    @Column(length = 64)
+    private String claimedBy;
+    
+    private LocalDateTime claimedUntil;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+}
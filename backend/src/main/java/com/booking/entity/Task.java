@@ -1,9 +1,11 @@
 package com.booking.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
@@ -31,6 +33,11 @@ public class Task {
     @Column(nullable = false)
     private Priority priority;
     
+    // Numeric copy of priority so queues can sort and index on it; kept in sync by setPriority
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private Integer priorityRank;
+    
     @Column(nullable = false)
     private Long assignedUserId;
     
@@ -47,6 +54,11 @@ public class Task {
     
     private LocalDateTime approvalDate;
     
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+        this.priorityRank = priority != null ? priority.getRank() : null;
+    }
+    
     @PrePersist
     protected void onCreate() {
         if (createdDate == null) {
@@ -63,9 +75,20 @@ public class Task {
         REJECTED
     }
     
+    // Lower rank means more urgent
     public enum Priority {
-        LOW,
-        MEDIUM,
-        HIGH
+        LOW(2),
+        MEDIUM(1),
+        HIGH(0);
+        
+        private final int rank;
+        
+        Priority(int rank) {
+            this.rank = rank;
+        }
+        
+        public int getRank() {
+            return rank;
+        }
     }
 }
@@ -0,0 +1,20 @@
+package com.booking.event;
+
+import com.booking.dto.TaskResponse;
+import java.time.LocalDateTime;
+
+// Published by TaskService for every task write; listeners receive it after the transaction commits. Also
+// published by TaskChangeVersion for each write it finds was made through another node.
+public record TaskChangedEvent(Type type, TaskResponse task) {
+
+    public enum Type {
+        CREATED,
+        APPROVED,
+        REJECTED
+    }
+
+    // A task is created once and decided at most once, each stamped with its own time
+    public LocalDateTime changedAt() {
+        return type == Type.CREATED ? task.getCreatedDate() : task.getApprovalDate();
+    }
+}
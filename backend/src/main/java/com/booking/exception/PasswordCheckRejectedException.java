@@ -0,0 +1,9 @@
+package com.booking.exception;
+
+// Thrown when the password hashing lane is saturated; the caller should retry shortly
+public class PasswordCheckRejectedException extends RuntimeException {
+
+    public PasswordCheckRejectedException(String message) {
+        super(message);
+    }
+}
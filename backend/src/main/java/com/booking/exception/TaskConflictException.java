@@ -0,0 +1,18 @@
+package com.booking.exception;
+
+import com.booking.entity.Task;
+import lombok.Getter;
+
+// Thrown when a task has already left the status a transition expected
+@Getter
+public class TaskConflictException extends RuntimeException {
+    
+    private final Long taskId;
+    private final Task.Status currentStatus;
+    
+    public TaskConflictException(Long taskId, Task.Status currentStatus) {
+        super("Task has already been " + currentStatus.name().toLowerCase());
+        this.taskId = taskId;
+        this.currentStatus = currentStatus;
+    }
+}
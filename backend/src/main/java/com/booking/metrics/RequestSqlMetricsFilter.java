@@ -0,0 +1,79 @@
+package com.booking.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Records how many statements each request issued and how long they took, tagged like http.server.requests.
+// An async request (the CSV export's StreamingResponseBody, the event stream) is recorded when it completes and
+// is dispatched back through this filter. The async executor's TaskDecorator (MetricsConfig) carries the tally
+// to the thread that writes the body, so a streamed export's chunk queries count. Threads a service starts on
+// its own executor are not followed: the event feed's senders only write events and run no SQL.
+@RequiredArgsConstructor
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_STATEMENTS = "booking.http.sql.statements";
+    public static final String REQUEST_TIME = "booking.http.sql.time";
+
+    private static final String TALLY_ATTRIBUTE = RequestSqlMetricsFilter.class.getName() + ".tally";
+
+    private final SqlStatementMetrics sqlMetrics;
+    private final MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementMetrics.RequestTally tally =
+                (SqlStatementMetrics.RequestTally) request.getAttribute(TALLY_ATTRIBUTE);
+        if (tally == null) {
+            tally = sqlMetrics.beginRequest();
+            request.setAttribute(TALLY_ATTRIBUTE, tally);
+        } else {
+            sqlMetrics.resumeRequest(tally);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            sqlMetrics.endRequest();
+            if (!isAsyncStarted(request)) {
+                record(request, tally);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void record(HttpServletRequest request, SqlStatementMetrics.RequestTally tally) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri(request));
+        DistributionSummary.builder(REQUEST_STATEMENTS)
+                .description("SQL statements executed per HTTP request")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(registry)
+                .record(tally.statements());
+        Timer.builder(REQUEST_TIME)
+                .description("Time spent executing SQL per HTTP request")
+                .tags(tags)
+                .register(registry)
+                .record(tally.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // The route template keeps the tag cardinality bounded, e.g. /api/tasks/{id}/approve
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
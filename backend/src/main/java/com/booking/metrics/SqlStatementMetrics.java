@@ -0,0 +1,212 @@
+package com.booking.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Wraps the application DataSource so every executed statement is timed by statement type,
+// and tallied against the HTTP request running on the current thread (see RequestSqlMetricsFilter)
+public class SqlStatementMetrics {
+
+    public static final String STATEMENTS = "booking.sql.statements";
+
+    private static final ThreadLocal<RequestTally> CURRENT_REQUEST = new ThreadLocal<>();
+
+    // Resolved lazily because the DataSource is wrapped before the registry exists
+    private final Supplier<MeterRegistry> registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlStatementMetrics(Supplier<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    // Added to from the request's thread and from the async threads the request's work is carried to
+    public static final class RequestTally {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        public int statements() {
+            return statements.intValue();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+    }
+
+    public RequestTally beginRequest() {
+        RequestTally tally = new RequestTally();
+        CURRENT_REQUEST.set(tally);
+        return tally;
+    }
+
+    // Makes a tally begun on an earlier dispatch of the same request current again
+    public void resumeRequest(RequestTally tally) {
+        CURRENT_REQUEST.set(tally);
+    }
+
+    public void endRequest() {
+        CURRENT_REQUEST.remove();
+    }
+
+    // Wraps work a request hands to another thread, such as a streamed response body, so that its SQL is
+    // tallied against the request
+    public Runnable carryRequestTally(Runnable task) {
+        RequestTally tally = CURRENT_REQUEST.get();
+        if (tally == null) {
+            return task;
+        }
+        return () -> {
+            RequestTally previous = CURRENT_REQUEST.get();
+            CURRENT_REQUEST.set(tally);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT_REQUEST.set(previous);
+                } else {
+                    CURRENT_REQUEST.remove();
+                }
+            }
+        };
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        return new InstrumentedDataSource(dataSource);
+    }
+
+    // A class rather than a JDK proxy so the wrapper still has close(): the container shuts the pool down
+    // through it when the context closes, as it would have done for the unwrapped bean
+    private final class InstrumentedDataSource extends DelegatingDataSource implements Closeable {
+
+        private InstrumentedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, invocation) -> {
+            Object result = invocation.proceed();
+            if (method.getName().equals("prepareStatement")) {
+                return wrap((PreparedStatement) result, (String) args[0]);
+            }
+            if (method.getName().equals("createStatement")) {
+                return wrap((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        String type = type(sql);
+        return proxy(PreparedStatement.class, statement, (method, args, invocation) ->
+                method.getName().startsWith("execute") ? timed(type, invocation) : invocation.proceed());
+    }
+
+    private Statement wrap(Statement statement) {
+        return proxy(Statement.class, statement, (method, args, invocation) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invocation.proceed();
+            }
+            return timed(args != null && args.length > 0 && args[0] instanceof String sql ? type(sql) : "other", invocation);
+        });
+    }
+
+    private Object timed(String type, Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            record(type, System.nanoTime() - start);
+        }
+    }
+
+    private void record(String type, long nanos) {
+        timers.computeIfAbsent(type, key -> Timer.builder(STATEMENTS)
+                        .description("JDBC statement executions")
+                        .tag("type", key)
+                        .register(registry.get()))
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        RequestTally tally = CURRENT_REQUEST.get();
+        if (tally != null) {
+            tally.statements.increment();
+            tally.nanos.add(nanos);
+        }
+    }
+
+    private static String type(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args, Invocation invocation) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(method, args, () -> {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+        return (T) Proxy.newProxyInstance(SqlStatementMetrics.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
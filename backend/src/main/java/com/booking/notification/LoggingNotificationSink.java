@@ -0,0 +1,20 @@
+package com.booking.notification;
+
+import com.booking.entity.OutboxNotification;
+import com.booking.entity.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingNotificationSink implements NotificationSink {
+    
+    @Override
+    public void deliver(OutboxNotification notification) {
+        // Simulate notification
+        log.info("{} NOTIFICATION: Task '{}' (ID: {}) has been {} by {} ({})",
+                notification.getDecision() == Task.Status.APPROVED ? "✅" : "❌",
+                notification.getTaskTitle(), notification.getTaskId(), notification.getDecision(),
+                notification.getActorName(), notification.getActorRole());
+    }
+}
@@ -0,0 +1,147 @@
+package com.booking.notification;
+
+import com.booking.entity.OutboxNotification;
+import com.booking.repository.OutboxNotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Drains the outbox in batches off the request path; delivery is at-least-once. Every node runs a dispatcher,
+// and each batch is claimed before it is sent so that the nodes share the outbox instead of each sending it all.
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    
+    private final OutboxNotificationRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationSink sink;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration deliveryTimeout;
+    // Deliveries mostly wait on I/O, so each one gets its own virtual thread
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    public NotificationDispatcher(OutboxNotificationRepository outboxRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  NotificationSink sink,
+                                  @Value("${booking.notifications.batch-size:100}") int batchSize,
+                                  @Value("${booking.notifications.max-attempts:8}") int maxAttempts,
+                                  @Value("${booking.notifications.initial-backoff:PT2S}") Duration initialBackoff,
+                                  @Value("${booking.notifications.max-backoff:PT10M}") Duration maxBackoff,
+                                  @Value("${booking.notifications.delivery-timeout:PT10S}") Duration deliveryTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.deliveryTimeout = deliveryTimeout;
+    }
+    
+    @Scheduled(fixedDelayString = "${booking.notifications.poll-interval:PT1S}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize && !Thread.currentThread().isInterrupted());
+    }
+    
+    // Claims one batch, delivers it concurrently, then deletes the delivered rows in one statement and
+    // reschedules the rest in one JDBC batch. Returns how many rows were found due, claimed by this dispatcher or not.
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxRepository.findDue(now, Limit.of(batchSize));
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+        // The claim outlives every delivery of the batch, which all end by the delivery timeout. Rows claimed by a
+        // dispatcher that stopped mid-batch become due again when it lapses.
+        String claimant = UUID.randomUUID().toString();
+        if (outboxRepository.claim(dueIds, claimant, now, now.plus(deliveryTimeout.multipliedBy(2))) == 0) {
+            return dueIds.size();
+        }
+        List<OutboxNotification> due = outboxRepository.findClaimed(claimant);
+        
+        List<Future<?>> deliveries = new ArrayList<>(due.size());
+        for (OutboxNotification notification : due) {
+            deliveries.add(executor.submit(() -> {
+                sink.deliver(notification);
+                return null;
+            }));
+        }
+        
+        long deadline = System.nanoTime() + deliveryTimeout.toNanos();
+        List<Long> delivered = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            OutboxNotification notification = due.get(i);
+            Future<?> delivery = deliveries.get(i);
+            try {
+                delivery.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.add(notification.getId());
+            } catch (ExecutionException e) {
+                failed.add(scheduleRetry(notification, e.getCause(), now));
+            } catch (TimeoutException e) {
+                delivery.cancel(true);
+                failed.add(scheduleRetry(notification, e, now));
+            } catch (InterruptedException e) {
+                // Undecided rows stay claimed until the claim lapses, then they are picked up again
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (!failed.isEmpty()) {
+            // Plain updates by id: saving the detached rows would merge them, reading each one back first
+            jdbcTemplate.batchUpdate("UPDATE notification_outbox SET attempts = ?, next_attempt_at = ?, "
+                    + "last_error = ?, claimed_by = NULL, claimed_until = NULL WHERE id = ?", failed);
+        }
+        return dueIds.size();
+    }
+    
+    // Exponential backoff from the initial delay, capped at the maximum; gives up after maxAttempts. Returns the
+    // parameters of the row's update, which also releases its claim.
+    private Object[] scheduleRetry(OutboxNotification notification, Throwable error, LocalDateTime now) {
+        int attempts = notification.getAttempts() + 1;
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        String lastError = message.length() > 1000 ? message.substring(0, 1000) : message;
+        
+        LocalDateTime nextAttemptAt = null;
+        if (attempts >= maxAttempts) {
+            log.warn("Giving up on notification {} for task {} after {} attempts: {}",
+                    notification.getId(), notification.getTaskId(), attempts, message);
+        } else {
+            Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+            nextAttemptAt = now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff);
+            log.debug("Notification {} failed (attempt {}), retrying at {}",
+                    notification.getId(), attempts, nextAttemptAt);
+        }
+        return new Object[]{attempts, nextAttemptAt, lastError, notification.getId()};
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,32 @@
+package com.booking.notification;
+
+import com.booking.entity.Task;
+import com.booking.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Records decision notifications in the caller's transaction so they are sent if and only if the decision commits
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    // One JDBC batch per call: identity ids keep Hibernate from batching the entity inserts
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDecisions(Collection<Task> tasks, AuthenticatedUser actor) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = tasks.stream()
+                .map(task -> new Object[]{task.getId(), task.getTitle(), task.getStatus().name(),
+                        actor.name(), actor.role().name(), 0, now, now})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO notification_outbox (task_id, task_title, decision, actor_name, "
+                + "actor_role, attempts, next_attempt_at, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,9 @@
+package com.booking.notification;
+
+import com.booking.entity.OutboxNotification;
+
+// Delivers one notification; throwing makes the dispatcher retry it later with backoff
+public interface NotificationSink {
+    
+    void deliver(OutboxNotification notification) throws Exception;
+}
@@ -0,0 +1,34 @@
+package com.booking.repository;
+
+import com.booking.entity.OutboxNotification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+    
+    // Oldest due, unclaimed notifications first, read straight off the (next_attempt_at, id) index
+    @Query("select n.id from OutboxNotification n where n.nextAttemptAt <= :now "
+            + "and (n.claimedUntil is null or n.claimedUntil <= :now) order by n.nextAttemptAt, n.id")
+    List<Long> findDue(@Param("now") LocalDateTime now, Limit limit);
+    
+    // Conditional claim committed on its own: a row another dispatcher claimed first fails the condition once
+    // its claim commits, so each due row goes to exactly one claimant
+    @Transactional
+    @Modifying
+    @Query("update OutboxNotification n set n.claimedBy = :claimant, n.claimedUntil = :until "
+            + "where n.id in :ids and n.nextAttemptAt <= :now and (n.claimedUntil is null or n.claimedUntil <= :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimant") String claimant,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    @Query("select n from OutboxNotification n where n.claimedBy = :claimant order by n.id")
+    List<OutboxNotification> findClaimed(@Param("claimant") String claimant);
+}
@@ -1,23 +1,55 @@
 package com.booking.repository;
 
 import com.booking.entity.Task;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
     
     List<Task> findByStatus(Task.Status status);
     
-    List<Task> findByAssignedUserId(Long userId);
+    // Called outside any service transaction on calendar index misses, so it marks itself read-only
+    @Transactional(readOnly = true)
+    List<Task> findByScheduledDateBetween(LocalDateTime start, LocalDateTime end);
     
-    List<Task> findByCreatedBy(Long userId);
+    List<Task> findAllByOrderByCreatedDateDesc();
     
-    List<Task> findByStatusOrderByPriorityDesc(Task.Status status);
+    // Keyset pages ordered by (createdDate, id) descending, starting strictly after the cursor
+    @Query("select t from Task t where t.createdDate < :createdDate "
+            + "or (t.createdDate = :createdDate and t.id < :id) "
+            + "order by t.createdDate desc, t.id desc")
+    List<Task> findPageAfter(@Param("createdDate") LocalDateTime createdDate, @Param("id") Long id, Limit limit);
     
-    List<Task> findByScheduledDateBetween(LocalDateTime start, LocalDateTime end);
+    // Pending tasks in true priority order, seeking past the cursor on the (status, priorityRank, scheduledDate, id) index
+    @Query("select t from Task t where t.status = :status and t.priorityRank >= :priorityRank "
+            + "and (t.priorityRank > :priorityRank or t.scheduledDate > :scheduledDate "
+            + "or (t.scheduledDate = :scheduledDate and t.id > :id)) "
+            + "order by t.priorityRank, t.scheduledDate, t.id")
+    List<Task> findQueuePageAfter(@Param("status") Task.Status status, @Param("priorityRank") int priorityRank,
+                                  @Param("scheduledDate") LocalDateTime scheduledDate, @Param("id") Long id, Limit limit);
     
-    List<Task> findAllByOrderByCreatedDateDesc();
+    // SELECT ... FOR UPDATE: the listed tasks still in the status stay in it until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids and t.status = :status")
+    List<Task> findAllByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Task.Status status);
+    
+    // Decides every listed task that is still in the expected status with a single statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :decision, t.approvedBy = :approverId, t.approvalDate = :decidedAt "
+            + "where t.id in :ids and t.status = :expected")
+    int decideAll(@Param("ids") Collection<Long> ids, @Param("expected") Task.Status expected,
+                  @Param("decision") Task.Status decision, @Param("approverId") Long approverId,
+                  @Param("decidedAt") LocalDateTime decidedAt);
 }
@@ -0,0 +1,55 @@
+package com.booking.repository;
+
+import com.booking.dto.TaskQuery;
+import com.booking.entity.Task;
+import com.booking.util.TaskCursor;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // Combines every filter set on the query into a single where clause; unset filters are skipped
+    public static Specification<Task> matching(TaskQuery query) {
+        return Specification.where(equalTo("status", query.getStatus()))
+                .and(equalTo("priority", query.getPriority()))
+                .and(equalTo("assignedUserId", query.getAssignedUserId()))
+                .and(equalTo("createdBy", query.getCreatedBy()))
+                .and(between("scheduledDate", query.getScheduledFrom(), query.getScheduledTo()))
+                .and(between("createdDate", query.getCreatedFrom(), query.getCreatedTo()));
+    }
+
+    // Keyset predicate for the (createdDate, id) descending order. The leading createdDate <= bound
+    // keeps the predicate usable as an index range scan; the disjunction only trims the boundary.
+    public static Specification<Task> createdBefore(TaskCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("createdDate"), cursor.createdDate()),
+                cb.or(
+                        cb.lessThan(root.get("createdDate"), cursor.createdDate()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+
+    private static Specification<Task> equalTo(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static Specification<Task> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return cb.between(root.get(attribute), from, to);
+        };
+    }
+}
@@ -2,7 +2,12 @@ package com.booking.repository;
 
 import com.booking.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(User.Role role);
     
     boolean existsByUsername(String username);
+    
+    // Read-only on its own for callers outside a service transaction (the calendar loader)
+    @Transactional(readOnly = true)
+    @Query("select u.id as id, u.name as name from User u where u.id in :ids")
+    List<UserName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Replaces the hash only if it has not changed since it was read, so concurrent logins cannot overwrite a newer one.
+    // Runs in its own transaction so callers can hash outside one.
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id and u.password = :current")
+    int updatePassword(@Param("id") Long id, @Param("current") String current, @Param("password") String password);
+    
+    interface UserName {
+        Long getId();
+        String getName();
+    }
 }
@@ -0,0 +1,101 @@
+package com.booking.security;
+
+import com.booking.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+// Issues and checks HMAC-signed bearer tokens carrying the principal, so any node holding the shared
+// secret can authenticate a request without a session or a database lookup
+@Component
+public class AuthTokenService {
+
+    public static final String TOKEN_MODE = "token";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public AuthTokenService(@Value("${booking.auth.mode:session}") String mode,
+                            @Value("${booking.auth.token.secret:}") String secret,
+                            @Value("${booking.auth.token.ttl:PT8H}") Duration ttl) {
+        this(TOKEN_MODE.equalsIgnoreCase(mode), secret, ttl, Clock.systemUTC());
+    }
+
+    AuthTokenService(boolean enabled, String secret, Duration ttl, Clock clock) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (enabled && secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("booking.auth.token.secret must be at least " + MIN_SECRET_BYTES
+                    + " bytes when booking.auth.mode=token");
+        }
+        this.enabled = enabled;
+        this.key = enabled ? new SecretKeySpec(secretBytes, ALGORITHM) : null;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        long expiresAt = clock.instant().plus(ttl).getEpochSecond();
+        // The name goes last because it is the only field that may contain the separator
+        String payload = encode((user.id() + "|" + user.role() + "|" + expiresAt + "|" + user.name())
+                .getBytes(StandardCharsets.UTF_8));
+        return payload + "." + encode(sign(payload));
+    }
+
+    // Empty for malformed, tampered or expired tokens
+    public Optional<AuthenticatedUser> verify(String token) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            String[] fields = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8).split("\\|", 4);
+            if (fields.length != 4 || Long.parseLong(fields[2]) <= clock.instant().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthenticatedUser(Long.valueOf(fields[0]), fields[3], User.Role.valueOf(fields[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign token", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,26 @@
+package com.booking.security;
+
+import com.booking.entity.User;
+import jakarta.servlet.http.HttpSession;
+import java.io.Serializable;
+
+// The logged-in user as resolved at login; kept in the session so requests need no user lookup
+public record AuthenticatedUser(Long id, String name, User.Role role) implements Serializable {
+    
+    public static final String SESSION_ATTRIBUTE = "principal";
+    
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getName(), user.getRole());
+    }
+    
+    // The attributes the controllers read, including the legacy userId/userRole pair
+    public void storeIn(HttpSession session) {
+        session.setAttribute("userId", id);
+        session.setAttribute("userRole", role);
+        session.setAttribute(SESSION_ATTRIBUTE, this);
+    }
+    
+    public boolean canApprove() {
+        return role == User.Role.MANAGER || role == User.Role.ADMIN;
+    }
+}
@@ -0,0 +1,67 @@
+package com.booking.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+// Stateless mode: replaces the container session with a per-request one, filled from the bearer token,
+// so controllers keep reading session attributes while no node holds any session state
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthTokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TokenSessionRequest wrapped = new TokenSessionRequest(request);
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            // An invalid or expired token leaves the request anonymous; the controllers answer 401
+            tokenService.verify(header.substring(BEARER_PREFIX.length()).trim())
+                    .ifPresent(principal -> principal.storeIn(wrapped.getSession()));
+        }
+        chain.doFilter(wrapped, response);
+    }
+
+    private static final class TokenSessionRequest extends HttpServletRequestWrapper {
+
+        private TransientHttpSession session;
+
+        private TokenSessionRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session == null && create) {
+                session = new TransientHttpSession(getServletContext());
+            }
+            return session;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public String changeSessionId() {
+            return getSession().getId();
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.booking.security;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// A session that lives only as long as one request; nothing is stored on the node
+class TransientHttpSession implements HttpSession {
+
+    private final String id = UUID.randomUUID().toString();
+    private final long creationTime = System.currentTimeMillis();
+    private final ServletContext servletContext;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private int maxInactiveInterval;
+
+    TransientHttpSession(ServletContext servletContext) {
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return creationTime;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        maxInactiveInterval = interval;
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return maxInactiveInterval;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public void invalidate() {
+        attributes.clear();
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -3,10 +3,12 @@ package com.booking.service;
 import com.booking.dto.LoginRequest;
 import com.booking.dto.LoginResponse;
 import com.booking.entity.User;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("booking.service")
 @RequiredArgsConstructor
 public class AuthService {
     
@@ -19,6 +21,7 @@ public class AuthService {
         if (!userService.validatePassword(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid username or password");
         }
+        userService.rehashPasswordIfNeeded(user, request.getPassword());
         
         return new LoginResponse(user, "Login successful");
     }
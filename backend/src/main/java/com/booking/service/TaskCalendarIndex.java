@@ -0,0 +1,173 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.event.TaskChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+// In-memory index of tasks bucketed by scheduled day. Days are loaded from the database the first
+// time a range touches them and are then kept current from committed task writes, including those
+// TaskChangeVersion publishes for writes made through other nodes.
+@Component
+@Slf4j
+public class TaskCalendarIndex {
+    
+    private static final Comparator<TaskResponse> BY_SCHEDULE = Comparator
+            .comparing(TaskResponse::getScheduledDate)
+            .thenComparing(TaskResponse::getId);
+    
+    // Loads of a range that concurrent eviction keeps dropping before it is read straight from the database
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    
+    private final ConcurrentSkipListMap<LocalDate, DayBucket> days = new ConcurrentSkipListMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final int maxDays;
+    
+    public TaskCalendarIndex(@Value("${booking.calendar-index.max-days:400}") int maxDays) {
+        this.maxDays = maxDays;
+    }
+    
+    public List<TaskResponse> findBetween(LocalDateTime start, LocalDateTime end,
+                                          BiFunction<LocalDateTime, LocalDateTime, List<TaskResponse>> loader) {
+        if (end.isBefore(start)) {
+            return List.of();
+        }
+        LocalDate first = start.toLocalDate();
+        LocalDate last = end.toLocalDate();
+        
+        // Ranges wider than the whole index would only churn it
+        if (ChronoUnit.DAYS.between(first, last) + 1 > maxDays) {
+            return loader.apply(start, end);
+        }
+        // Eviction (or clear) by another thread may drop a day between its load and this read, so the read
+        // works on the buckets it found loaded, and loads again if any were gone
+        List<DayBucket> buckets = loadedBuckets(first, last);
+        for (int attempt = 0; buckets == null; attempt++) {
+            if (attempt == MAX_LOAD_ATTEMPTS) {
+                return loader.apply(start, end);
+            }
+            load(first, last, loader);
+            buckets = loadedBuckets(first, last);
+        }
+        
+        List<TaskResponse> result = new ArrayList<>();
+        for (DayBucket bucket : buckets) {
+            for (TaskResponse task : bucket.tasks.values()) {
+                LocalDateTime scheduled = task.getScheduledDate();
+                if (!scheduled.isBefore(start) && !scheduled.isAfter(end)) {
+                    result.add(task);
+                }
+            }
+        }
+        result.sort(BY_SCHEDULE);
+        return result;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskResponse task = event.task();
+        // Days nobody has asked for are left to the database; a bucket being loaded still takes the write
+        DayBucket bucket = days.get(task.getScheduledDate().toLocalDate());
+        if (bucket != null) {
+            // A creation published after the day was loaded with the task already decided must not undo that
+            bucket.tasks.merge(task.getId(), task,
+                    (loaded, written) -> loaded.getApprovalDate() != null && written.getApprovalDate() == null
+                            ? loaded : written);
+        }
+    }
+    
+    public void clear() {
+        days.clear();
+    }
+    
+    // Every day's bucket, marked as just queried, or null if any day is not loaded
+    private List<DayBucket> loadedBuckets(LocalDate first, LocalDate last) {
+        long now = System.nanoTime();
+        List<DayBucket> buckets = new ArrayList<>();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            DayBucket bucket = days.get(day);
+            if (bucket == null || !bucket.loaded) {
+                return null;
+            }
+            bucket.lastAccess = now;
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+    
+    private void load(LocalDate first, LocalDate last,
+                      BiFunction<LocalDateTime, LocalDateTime, List<TaskResponse>> loader) {
+        loadLock.lock();
+        try {
+            LocalDate firstMissing = null;
+            LocalDate lastMissing = null;
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                DayBucket bucket = days.get(day);
+                if (bucket == null || !bucket.loaded) {
+                    if (firstMissing == null) {
+                        firstMissing = day;
+                    }
+                    lastMissing = day;
+                }
+            }
+            if (firstMissing == null) {
+                return;
+            }
+            
+            // Buckets exist before the read, so writes committing while it runs are not lost
+            for (LocalDate day = firstMissing; !day.isAfter(lastMissing); day = day.plusDays(1)) {
+                days.computeIfAbsent(day, d -> new DayBucket());
+            }
+            List<TaskResponse> tasks = loader.apply(firstMissing.atStartOfDay(), lastMissing.atTime(LocalTime.MAX));
+            // Never overwrite an entry a committed write has already put in place
+            for (TaskResponse task : tasks) {
+                days.get(task.getScheduledDate().toLocalDate()).tasks.putIfAbsent(task.getId(), task);
+            }
+            for (LocalDate day = firstMissing; !day.isAfter(lastMissing); day = day.plusDays(1)) {
+                days.get(day).loaded = true;
+            }
+            log.debug("Calendar index loaded {} tasks for {} to {}", tasks.size(), firstMissing, lastMissing);
+            
+            evictIfNeeded();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+    
+    // Drops the least recently queried days once more than maxDays are cached
+    private void evictIfNeeded() {
+        List<Map.Entry<LocalDate, DayBucket>> loaded = new ArrayList<>();
+        for (Map.Entry<LocalDate, DayBucket> entry : days.entrySet()) {
+            if (entry.getValue().loaded) {
+                loaded.add(entry);
+            }
+        }
+        if (loaded.size() <= maxDays) {
+            return;
+        }
+        loaded.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (int i = 0; i < loaded.size() - maxDays; i++) {
+            days.remove(loaded.get(i).getKey());
+        }
+    }
+    
+    private static final class DayBucket {
+        private final Map<Long, TaskResponse> tasks = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+        private volatile long lastAccess = System.nanoTime();
+    }
+}
@@ -0,0 +1,200 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Version of the task data, the same on every node that has applied the same writes. A task is created once and
+// decided at most once, so the number of those writes, kept by TaskStatistics, changes with every write and
+// never repeats; the task GET endpoints derive ETag and Last-Modified from it, and an unchanged poll is answered
+// with 304 before any query runs. Writes add nothing to the writing transaction.
+//
+// A node applies its own writes as they commit. Every sync-interval it also reads the ids of the tasks created
+// or decided since its previous look, back-dated by max-write-delay for writes that were stamped before they
+// committed, and publishes a TaskChangedEvent for each write it has not applied yet. The other nodes' writes
+// therefore reach the node-local caches and the event feed one by one, like its own, within about sync-interval.
+@Component
+@Slf4j
+public class TaskChangeVersion {
+
+    private static final String CHANGED_SINCE = "SELECT id, created_date, approval_date FROM tasks "
+            + "WHERE created_date > ? UNION ALL "
+            + "SELECT id, created_date, approval_date FROM tasks WHERE approval_date > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskStatistics statistics;
+    private final TaskService taskService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration maxWriteDelay;
+    // The writes applied here that a scan could still find, by task id; guarded by itself
+    private final Map<Long, Applied> applied = new HashMap<>();
+    // Start of the previous scan; guarded by synchronized sync()
+    private LocalDateTime lastScan = LocalDateTime.now();
+
+    public record Snapshot(long version, long lastModified) {
+
+        // Weak: a form gzipped or not is the same data, and Tomcat only compresses responses whose ETag is
+        // weak. The time keeps a database that was recreated from reusing old validators.
+        public String etag() {
+            return etag(null);
+        }
+
+        // Each form of the same data gets its own tag, since a cache keeps one entity per tag; null for JSON
+        public String etag(String form) {
+            String suffix = form != null ? "-" + form : "";
+            return "W/\"" + version + "-" + Long.toString(lastModified, 36) + suffix + "\"";
+        }
+    }
+
+    public TaskChangeVersion(JdbcTemplate jdbcTemplate, TaskStatistics statistics, TaskService taskService,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${booking.tasks.max-write-delay:PT10S}") Duration maxWriteDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statistics = statistics;
+        this.taskService = taskService;
+        this.eventPublisher = eventPublisher;
+        this.maxWriteDelay = maxWriteDelay;
+    }
+
+    public Snapshot current() {
+        return new Snapshot(statistics.writeCount(), statistics.lastModified());
+    }
+
+    // Runs as the event is published, inside the writing transaction, so a scan can never find a write of this
+    // node that is not marked yet. Marks are taken back if the transaction rolls back.
+    @EventListener
+    public void onTaskWritten(TaskChangedEvent event) {
+        mark(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<TaskChangedEvent> written = (List<TaskChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            List<TaskChangedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeVersion.this);
+                    if (status != STATUS_COMMITTED) {
+                        events.forEach(TaskChangeVersion.this::unmark);
+                    }
+                }
+            });
+            written = events;
+        }
+        written.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.cluster.sync-interval:PT1S}")
+    public synchronized void sync() {
+        LocalDateTime scanStart = LocalDateTime.now();
+        LocalDateTime since = lastScan.minus(maxWriteDelay);
+        Map<Long, Writes> found = new TreeMap<>();
+        jdbcTemplate.query(CHANGED_SINCE, row -> {
+            Timestamp approvalDate = row.getTimestamp(3);
+            found.putIfAbsent(row.getLong(1), new Writes(row.getTimestamp(2).toLocalDateTime().isAfter(since),
+                    approvalDate != null && approvalDate.toLocalDateTime().isAfter(since)));
+        }, Timestamp.valueOf(since), Timestamp.valueOf(since));
+
+        Map<Long, Writes> missed = new TreeMap<>();
+        synchronized (applied) {
+            found.forEach((id, writes) -> {
+                Applied seen = applied.getOrDefault(id, Applied.NONE);
+                Writes unseen = new Writes(writes.created() && !seen.created, writes.decided() && !seen.decided);
+                if (unseen.created() || unseen.decided()) {
+                    missed.put(id, unseen);
+                }
+            });
+            // No later scan reaches back this far
+            applied.values().removeIf(write -> !write.latest.isAfter(since));
+        }
+        lastScan = scanStart;
+        if (missed.isEmpty()) {
+            return;
+        }
+
+        List<TaskResponse> tasks = taskService.getTasksFromPrimary(missed.keySet());
+        log.debug("Applying {} task writes made through other nodes", tasks.size());
+        // Publishing marks each write applied, so the next scan skips it
+        for (TaskResponse task : tasks) {
+            Writes writes = missed.get(task.getId());
+            if (writes.created()) {
+                // Published as it was created when its decision is published after it
+                eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED,
+                        writes.decided() ? asCreated(task) : task));
+            }
+            if (writes.decided()) {
+                eventPublisher.publishEvent(new TaskChangedEvent(
+                        TaskChangedEvent.Type.valueOf(task.getStatus().name()), task));
+            }
+        }
+    }
+
+    private void mark(TaskChangedEvent event) {
+        synchronized (applied) {
+            Applied write = applied.computeIfAbsent(event.task().getId(), id -> new Applied());
+            if (event.type() == TaskChangedEvent.Type.CREATED) {
+                write.created = true;
+            } else {
+                write.decided = true;
+            }
+            LocalDateTime changedAt = event.changedAt();
+            if (changedAt != null && changedAt.isAfter(write.latest)) {
+                write.latest = changedAt;
+            }
+        }
+    }
+
+    private void unmark(TaskChangedEvent event) {
+        synchronized (applied) {
+            Applied write = applied.get(event.task().getId());
+            if (write == null) {
+                return;
+            }
+            if (event.type() == TaskChangedEvent.Type.CREATED) {
+                write.created = false;
+            } else {
+                write.decided = false;
+            }
+        }
+    }
+
+    private static TaskResponse asCreated(TaskResponse task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                Task.Status.PENDING, task.getPriority(), task.getAssignedUserId(),
+                task.getAssignedUserName(), task.getCreatedBy(), task.getCreatedByName(), task.getCreatedDate(),
+                task.getScheduledDate(), null, null, null);
+    }
+
+    private record Writes(boolean created, boolean decided) {
+    }
+
+    // Which of a task's two writes were applied here, and the later of their times for pruning
+    private static final class Applied {
+
+        private static final Applied NONE = new Applied();
+
+        private boolean created;
+        private boolean decided;
+        private LocalDateTime latest = LocalDateTime.MIN;
+    }
+}
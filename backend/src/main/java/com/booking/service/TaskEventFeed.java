@@ -0,0 +1,211 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.event.TaskChangedEvent;
+import com.booking.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pushes committed task changes to server-sent-event subscribers. Each subscriber has a bounded buffer that
+// drops its oldest events when the client falls behind; it is drained by a virtual thread only while
+// non-empty, so idle connections hold no thread and a slow client never blocks the writer.
+@Component
+@Slf4j
+public class TaskEventFeed implements MeterBinder, DisposableBean {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TaskEventFeed(ObjectMapper objectMapper,
+                         @Value("${booking.events.buffer-size:256}") int bufferSize,
+                         @Value("${booking.events.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${booking.events.timeout:PT30M}") Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+    }
+
+    // Null when the subscriber limit is reached
+    public SseEmitter subscribe(AuthenticatedUser user) {
+        return subscribe(user, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(AuthenticatedUser user, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(user, emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        TaskResponse task = event.task();
+        String data;
+        try {
+            // Serialized once and shared by every subscriber
+            data = objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize task {} for the event feed", task.getId(), e);
+            return;
+        }
+        Outgoing outgoing = new Outgoing(sequence.incrementAndGet(), event.type().name().toLowerCase(Locale.ROOT), data);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.wants(task)) {
+                subscriber.offer(outgoing);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${booking.events.heartbeat:PT25S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("booking.events.subscribers", subscribers, Set::size)
+                .description("Open task event stream connections")
+                .register(registry);
+        FunctionCounter.builder("booking.events.dropped", dropped, AtomicLong::get)
+                .description("Task events dropped because a subscriber fell behind")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // A null name marks a heartbeat comment
+    private record Outgoing(long id, String name, String data) {
+    }
+
+    private final class Subscriber {
+
+        private final AuthenticatedUser user;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Outgoing> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private long droppedSinceLastSend;
+
+        private Subscriber(AuthenticatedUser user, SseEmitter emitter) {
+            this.user = user;
+            this.emitter = emitter;
+        }
+
+        // Managers and admins see every task; users see the tasks assigned to or created by them
+        private boolean wants(TaskResponse task) {
+            return user.canApprove() || user.id().equals(task.getAssignedUserId()) || user.id().equals(task.getCreatedBy());
+        }
+
+        private void offer(Outgoing outgoing) {
+            synchronized (this) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedSinceLastSend++;
+                    dropped.incrementAndGet();
+                }
+                buffer.addLast(outgoing);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                // Anything already queued will touch the connection anyway
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+            }
+            offer(new Outgoing(0, null, null));
+        }
+
+        private void drain() {
+            while (true) {
+                Outgoing outgoing;
+                long missed;
+                synchronized (this) {
+                    outgoing = buffer.pollFirst();
+                    if (outgoing == null) {
+                        draining = false;
+                        return;
+                    }
+                    missed = droppedSinceLastSend;
+                    droppedSinceLastSend = 0;
+                }
+                try {
+                    if (missed > 0) {
+                        // Tells the client its view is incomplete and it should reload
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(Long.toString(missed)));
+                    }
+                    if (outgoing.name() == null) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(outgoing.id()))
+                                .name(outgoing.name())
+                                .data(outgoing.data()));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client disconnected or the emitter already completed
+                    subscribers.remove(this);
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        buffer.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
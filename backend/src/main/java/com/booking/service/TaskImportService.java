@@ -0,0 +1,229 @@
+package com.booking.service;
+
+import com.booking.dto.TaskImportResponse;
+import com.booking.dto.TaskRequest;
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.util.TaskImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Creates tasks from an uploaded CSV or NDJSON file. Rows are validated like POST /api/tasks and collected into
+// batches; each batch resolves its new assignees with one query and is inserted as one JDBC batch in its own
+// transaction. Task ids stay IDENTITY: only Hibernate refuses to batch identity inserts, plain JDBC does not.
+// A failing row, or a batch the database rejects, is reported and the load carries on.
+@Service
+@Timed("booking.service")
+@Slf4j
+public class TaskImportService {
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (title, description, status, priority, priority_rank, "
+            + "assigned_user_id, created_by, created_date, scheduled_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public TaskImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+                             Validator validator, ObjectMapper objectMapper,
+                             @Value("${booking.import.batch-size:500}") int batchSize,
+                             @Value("${booking.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public TaskImportResponse importTasks(InputStream input, TaskImportReader.Format format,
+                                          AuthenticatedUser importer) throws IOException {
+        Load load = new Load(importer);
+        try (TaskImportReader reader = TaskImportReader.open(input, format, objectMapper)) {
+            List<TaskImportReader.Row> batch = new ArrayList<>(batchSize);
+            TaskImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    load.fail(row.number(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    insert(batch, load);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(batch, load);
+            }
+        }
+        log.info("Task import by user {}: {} imported, {} failed", importer.id(), load.imported, load.failed);
+        // Assignee and database errors surface when their batch is written, after later rows were validated
+        load.errors.sort(Comparator.comparingLong(TaskImportResponse.RowError::getRow));
+        return new TaskImportResponse(load.imported, load.failed, load.errors);
+    }
+
+    private String validate(TaskRequest request) {
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void insert(List<TaskImportReader.Row> batch, Load load) {
+        load.resolveAssignees(batch);
+        List<TaskImportReader.Row> rows = new ArrayList<>(batch.size());
+        for (TaskImportReader.Row row : batch) {
+            Long assignee = row.request().getAssignedUserId();
+            if (load.userNames.containsKey(assignee)) {
+                rows.add(row);
+            } else {
+                load.fail(row.number(), "Assigned user " + assignee + " does not exist");
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_TASK, new String[]{"id"}),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                                TaskRequest request = rows.get(i).request();
+                                statement.setString(1, request.getTitle());
+                                statement.setString(2, request.getDescription());
+                                statement.setString(3, Task.Status.PENDING.name());
+                                statement.setString(4, request.getPriority().name());
+                                statement.setInt(5, request.getPriority().getRank());
+                                statement.setLong(6, request.getAssignedUserId());
+                                statement.setLong(7, load.importer.id());
+                                statement.setTimestamp(8, Timestamp.valueOf(now));
+                                statement.setTimestamp(9, Timestamp.valueOf(request.getScheduledDate()));
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return rows.size();
+                            }
+                        }, keys);
+
+                // Keeps the calendar index, ETags and event stream in step, as createTask does
+                List<Map<String, Object>> generated = keys.getKeyList();
+                for (int i = 0; i < rows.size(); i++) {
+                    Long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+                    eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED,
+                            toResponse(id, rows.get(i).request(), now, load)));
+                }
+            });
+            load.imported += rows.size();
+        } catch (DataAccessException e) {
+            String message = "Not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (TaskImportReader.Row row : rows) {
+                load.fail(row.number(), message);
+            }
+        }
+    }
+
+    private static TaskResponse toResponse(Long id, TaskRequest request, LocalDateTime createdDate, Load load) {
+        TaskResponse response = new TaskResponse();
+        response.setId(id);
+        response.setTitle(request.getTitle());
+        response.setDescription(request.getDescription());
+        response.setStatus(Task.Status.PENDING);
+        response.setPriority(request.getPriority());
+        response.setAssignedUserId(request.getAssignedUserId());
+        response.setAssignedUserName(load.userNames.get(request.getAssignedUserId()));
+        response.setCreatedBy(load.importer.id());
+        response.setCreatedByName(load.importer.name());
+        response.setCreatedDate(createdDate);
+        response.setScheduledDate(request.getScheduledDate());
+        return response;
+    }
+
+    // State of one upload: outcome counts and the assignees resolved so far
+    private final class Load {
+
+        private final AuthenticatedUser importer;
+        private final Map<Long, String> userNames = new HashMap<>();
+        private final Set<Long> missingUsers = new HashSet<>();
+        private final List<TaskImportResponse.RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private Load(AuthenticatedUser importer) {
+            this.importer = importer;
+            userNames.put(importer.id(), importer.name());
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TaskImportResponse.RowError(row, message));
+            }
+        }
+
+        // Spreadsheets reuse a handful of assignees, so after the first batches this rarely queries at all
+        private void resolveAssignees(List<TaskImportReader.Row> batch) {
+            Set<Long> unknown = new HashSet<>();
+            for (TaskImportReader.Row row : batch) {
+                Long assignee = row.request().getAssignedUserId();
+                if (!userNames.containsKey(assignee) && !missingUsers.contains(assignee)) {
+                    unknown.add(assignee);
+                }
+            }
+            if (unknown.isEmpty()) {
+                return;
+            }
+            userRepository.findNamesByIdIn(unknown).forEach(user -> userNames.put(user.getId(), user.getName()));
+            unknown.removeAll(userNames.keySet());
+            missingUsers.addAll(unknown);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import com.booking.util.TaskTextIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps a TaskTextIndex of every task. It is loaded when the application is ready, reading the table in primary
+// key order, and kept current from committed task writes, including those TaskChangeVersion publishes for
+// writes made through other nodes.
+@Component
+@Slf4j
+public class TaskSearchIndex {
+
+    private static final String LOAD_TASKS = "SELECT id, title, description, status, assigned_user_id FROM tasks "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPrefixTerms;
+    private final int loadBatchSize;
+
+    // Null until the first load completes
+    private volatile TaskTextIndex current;
+    // Set while a rebuild is loading; takes writes alongside current so none is missed
+    private volatile TaskTextIndex building;
+
+    public TaskSearchIndex(JdbcTemplate jdbcTemplate,
+                           @Value("${booking.search.max-prefix-terms:64}") int maxPrefixTerms,
+                           @Value("${booking.search.load-batch-size:5000}") int loadBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    // Runs before the readiness state turns to ACCEPTING_TRAFFIC, so a load balancer waits for the index.
+    // A write committed before building is set is read by the load; one whose listener runs after it is
+    // applied to the new index directly. TaskTextIndex.add ignores whichever of the two comes second.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        TaskTextIndex index = new TaskTextIndex(maxPrefixTerms);
+        building = index;
+        try {
+            AtomicLong lastId = new AtomicLong();
+            int loaded;
+            do {
+                loaded = jdbcTemplate.query(LOAD_TASKS, rows -> {
+                    int count = 0;
+                    while (rows.next()) {
+                        lastId.set(rows.getLong(1));
+                        index.add(rows.getLong(1), rows.getString(2), rows.getString(3),
+                                Task.Status.valueOf(rows.getString(4)), rows.getLong(5));
+                        count++;
+                    }
+                    return count;
+                }, lastId.get(), loadBatchSize);
+            } while (loaded == loadBatchSize);
+            current = index;
+        } finally {
+            building = null;
+        }
+        log.info("Search index loaded: {} tasks in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Null while the index is still loading
+    public TaskTextIndex.Result search(String query, Task.Status status, Long assignedUserId, int limit) {
+        TaskTextIndex index = current;
+        return index != null ? index.search(query, status, assignedUserId, limit) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        apply(building, event);
+        apply(current, event);
+    }
+
+    private static void apply(TaskTextIndex index, TaskChangedEvent event) {
+        if (index == null) {
+            return;
+        }
+        TaskResponse task = event.task();
+        switch (event.type()) {
+            case CREATED -> index.add(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                    task.getAssignedUserId());
+            case APPROVED, REJECTED -> index.updateStatus(task.getId(), task.getStatus());
+        }
+    }
+}
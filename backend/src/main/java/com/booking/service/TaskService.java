@@ -1,26 +1,67 @@
 package com.booking.service;
 
+import com.booking.dto.BulkDecisionResponse;
+import com.booking.dto.TaskPage;
+import com.booking.dto.TaskQuery;
 import com.booking.dto.TaskRequest;
+import com.booking.dto.TaskSearchResponse;
 import com.booking.dto.TaskResponse;
 import com.booking.entity.Task;
-import com.booking.entity.User;
+import com.booking.event.TaskChangedEvent;
+import com.booking.exception.TaskConflictException;
+import com.booking.notification.NotificationOutbox;
 import com.booking.repository.TaskRepository;
+import com.booking.repository.TaskSpecifications;
 import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.util.TaskTextIndex;
+import com.booking.util.ApprovalQueueCursor;
+import com.booking.util.TaskCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("booking.service")
 @RequiredArgsConstructor
 @Slf4j
 public class TaskService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int EXPORT_CHUNK_SIZE = 500;
+    public static final int BULK_DECISION_CHUNK_SIZE = 500;
+    
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id"));
+    // The order a status filter has always listed tasks in, as the approval queue does; idx_tasks_approval_queue
+    private static final Sort MOST_URGENT_FIRST = Sort.by("priorityRank", "scheduledDate", "id");
+    
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskCalendarIndex calendarIndex;
+    private final TaskSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
     
     @Transactional
     public TaskResponse createTask(TaskRequest request, Long createdByUserId) {
@@ -37,98 +78,254 @@ public class TaskService {
         Task savedTask = taskRepository.save(task);
         log.info("Task created: {} by user {}", savedTask.getId(), createdByUserId);
         
-        return convertToResponse(savedTask);
+        TaskResponse response = convertToResponse(savedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, response));
+        return response;
     }
     
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAllByOrderByCreatedDateDesc().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return convertToResponses(taskRepository.findAllByOrderByCreatedDateDesc());
     }
     
-    public List<TaskResponse> getTasksByStatus(Task.Status status) {
-        return taskRepository.findByStatusOrderByPriorityDesc(status).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(TaskQuery query) {
+        Sort sort = query.getStatus() != null ? MOST_URGENT_FIRST : NEWEST_FIRST;
+        return convertToResponses(taskRepository.findAll(TaskSpecifications.matching(query), sort));
     }
     
-    public List<TaskResponse> getTasksByAssignedUser(Long userId) {
-        return taskRepository.findByAssignedUserId(userId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TaskPage searchTaskPage(TaskQuery query, String cursor, Integer limit) {
+        TaskCursor after = TaskCursor.fromToken(cursor);
+        int pageSize = clampPageSize(limit);
+        
+        // Fetch one extra row to learn whether another page exists
+        List<Task> tasks = taskRepository.findBy(
+                TaskSpecifications.matching(query).and(TaskSpecifications.createdBefore(after)),
+                q -> q.sortBy(NEWEST_FIRST).limit(pageSize + 1).all());
+        
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            nextCursor = TaskCursor.after(tasks.get(pageSize - 1)).encode();
+        }
+        return new TaskPage(convertToResponses(tasks), nextCursor);
     }
     
-    public List<TaskResponse> getTasksByCreator(Long userId) {
-        return taskRepository.findByCreatedBy(userId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    // Ranks in memory, then loads only the returned page by primary key; null while the index is loading
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTaskText(String text, Task.Status status, Long assignedUserId, Integer limit) {
+        TaskTextIndex.Result result = searchIndex.search(text, status, assignedUserId, clampPageSize(limit));
+        if (result == null) {
+            return null;
+        }
+        if (result.ids().isEmpty()) {
+            return new TaskSearchResponse(result.totalHits(), List.of());
+        }
+        
+        Map<Long, Task> byId = taskRepository.findAllById(result.ids()).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+        List<Task> ranked = result.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new TaskSearchResponse(result.totalHits(), convertToResponses(ranked));
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskPage getApprovalQueue(String cursor, Integer limit) {
+        ApprovalQueueCursor after = ApprovalQueueCursor.fromToken(cursor);
+        int pageSize = clampPageSize(limit);
+        
+        List<Task> tasks = taskRepository.findQueuePageAfter(Task.Status.PENDING,
+                after.priorityRank(), after.scheduledDate(), after.id(), Limit.of(pageSize + 1));
+        
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            nextCursor = ApprovalQueueCursor.after(tasks.get(pageSize - 1)).encode();
+        }
+        return new TaskPage(convertToResponses(tasks), nextCursor);
+    }
+    
+    // Walks every task newest-first in keyset chunks so callers never hold the full table in memory. Each chunk is
+    // read in its own short read-only transaction, so no connection or persistence context is held while the
+    // consumer writes it out, however slowly the client reads.
+    public void forEachTaskChunk(Consumer<List<TaskResponse>> consumer) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Map<Long, String> userNames = new HashMap<>();
+        TaskCursor after = TaskCursor.fromToken(null);
+        
+        while (true) {
+            TaskCursor chunkAfter = after;
+            List<Task> chunk = readOnly.execute(status -> {
+                List<Task> tasks = taskRepository.findPageAfter(chunkAfter.createdDate(), chunkAfter.id(),
+                        Limit.of(EXPORT_CHUNK_SIZE));
+                resolveUserNames(tasks, userNames);
+                return tasks;
+            });
+            if (chunk.isEmpty()) {
+                return;
+            }
+            
+            consumer.accept(chunk.stream()
+                    .map(task -> convertToResponse(task, userNames))
+                    .collect(Collectors.toList()));
+            
+            if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                return;
+            }
+            after = TaskCursor.after(chunk.get(chunk.size() - 1));
+        }
     }
     
+    // Not transactional: index hits must not take a connection; the loader's queries are read-only themselves
     public List<TaskResponse> getTasksByDateRange(LocalDateTime start, LocalDateTime end) {
-        return taskRepository.findByScheduledDateBetween(start, end).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return calendarIndex.findBetween(start, end,
+                (from, to) -> convertToResponses(taskRepository.findByScheduledDateBetween(from, to)));
+    }
+    
+    @Transactional
+    public TaskResponse approveTask(Long taskId, AuthenticatedUser approver) {
+        return decideTask(taskId, Task.Status.APPROVED, approver);
     }
     
     @Transactional
-    public TaskResponse approveTask(Long taskId, Long approverId) {
+    public TaskResponse rejectTask(Long taskId, AuthenticatedUser approver) {
+        return decideTask(taskId, Task.Status.REJECTED, approver);
+    }
+    
+    // A conditional UPDATE decides the task only if it is still PENDING, so concurrent deciders
+    // never overwrite each other and the loser gets a conflict without waiting on a read lock
+    private TaskResponse decideTask(Long taskId, Task.Status decision, AuthenticatedUser approver) {
+        checkCanDecide(approver, decision);
+        
+        int updated = taskRepository.decideAll(List.of(taskId), Task.Status.PENDING, decision,
+                approver.id(), LocalDateTime.now());
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
-        
-        User approver = userRepository.findById(approverId)
-                .orElseThrow(() -> new RuntimeException("Approver not found"));
-        
-        // Validate that approver has MANAGER or ADMIN role
-        if (approver.getRole() != User.Role.MANAGER && approver.getRole() != User.Role.ADMIN) {
-            throw new RuntimeException("Only managers and admins can approve tasks");
+        if (updated == 0) {
+            throw new TaskConflictException(taskId, task.getStatus());
         }
         
-        task.setStatus(Task.Status.APPROVED);
-        task.setApprovedBy(approverId);
-        task.setApprovalDate(LocalDateTime.now());
-        
-        Task updatedTask = taskRepository.save(task);
-        
-        // Simulate notification
-        log.info("✅ NOTIFICATION: Task '{}' (ID: {}) has been APPROVED by {} ({})", 
-                task.getTitle(), task.getId(), approver.getName(), approver.getRole());
+        // Delivered by NotificationDispatcher once this transaction commits
+        notificationOutbox.enqueueDecisions(List.of(task), approver);
         
-        return convertToResponse(updatedTask);
+        Map<Long, String> userNames = new HashMap<>(Map.of(approver.id(), approver.name()));
+        TaskResponse response = convertToResponse(task, resolveUserNames(List.of(task), userNames));
+        eventPublisher.publishEvent(new TaskChangedEvent(
+                decision == Task.Status.APPROVED ? TaskChangedEvent.Type.APPROVED : TaskChangedEvent.Type.REJECTED,
+                response));
+        return response;
     }
     
+    // Applies one decision to many pending tasks: one role check, then a locking SELECT and an UPDATE per chunk
     @Transactional
-    public TaskResponse rejectTask(Long taskId, Long approverId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+    public BulkDecisionResponse decideTasks(List<Long> taskIds, Task.Status decision, AuthenticatedUser approver) {
+        checkCanDecide(approver, decision);
+        Long approverId = approver.id();
         
-        User approver = userRepository.findById(approverId)
-                .orElseThrow(() -> new RuntimeException("Approver not found"));
+        // Stored timestamps keep microseconds; responses and events carry the time as stored
+        LocalDateTime decidedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> ids = taskIds.stream().distinct().toList();
+        Map<Long, String> userNames = new HashMap<>(Map.of(approverId, approver.name()));
+        Map<Long, BulkDecisionResponse.Result> results = new HashMap<>();
+        int applied = 0;
         
-        // Validate that approver has MANAGER or ADMIN role
-        if (approver.getRole() != User.Role.MANAGER && approver.getRole() != User.Role.ADMIN) {
-            throw new RuntimeException("Only managers and admins can reject tasks");
+        for (int from = 0; from < ids.size(); from += BULK_DECISION_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_DECISION_CHUNK_SIZE, ids.size()));
+            // The rows still pending are locked, so exactly these are decided here and no concurrent decider
+            // can take one between this read and the update
+            List<Task> decided = taskRepository.findAllByIdInAndStatus(chunk, Task.Status.PENDING);
+            if (!decided.isEmpty()) {
+                taskRepository.decideAll(decided.stream().map(Task::getId).toList(), Task.Status.PENDING,
+                        decision, approverId, decidedAt);
+            }
+            // Detached by the update, so these only shape the responses
+            for (Task task : decided) {
+                task.setStatus(decision);
+                task.setApprovedBy(approverId);
+                task.setApprovalDate(decidedAt);
+                results.put(task.getId(), new BulkDecisionResponse.Result(task.getId(),
+                        BulkDecisionResponse.Outcome.APPLIED, decision));
+            }
+            applied += decided.size();
+            
+            // Only ids that were not pending cost a read for their status
+            if (decided.size() < chunk.size()) {
+                List<Long> others = chunk.stream().filter(id -> !results.containsKey(id)).toList();
+                for (Task task : taskRepository.findAllById(others)) {
+                    results.put(task.getId(), new BulkDecisionResponse.Result(task.getId(),
+                            BulkDecisionResponse.Outcome.ALREADY_DECIDED, task.getStatus()));
+                }
+            }
+            
+            notificationOutbox.enqueueDecisions(decided, approver);
+            resolveUserNames(decided, userNames);
+            for (Task task : decided) {
+                eventPublisher.publishEvent(new TaskChangedEvent(
+                        decision == Task.Status.APPROVED ? TaskChangedEvent.Type.APPROVED : TaskChangedEvent.Type.REJECTED,
+                        convertToResponse(task, userNames)));
+            }
         }
         
-        task.setStatus(Task.Status.REJECTED);
-        task.setApprovedBy(approverId);
-        task.setApprovalDate(LocalDateTime.now());
-        
-        Task updatedTask = taskRepository.save(task);
-        
-        // Simulate notification
-        log.info("❌ NOTIFICATION: Task '{}' (ID: {}) has been REJECTED by {} ({})", 
-                task.getTitle(), task.getId(), approver.getName(), approver.getRole());
-        
-        return convertToResponse(updatedTask);
+        List<BulkDecisionResponse.Result> ordered = ids.stream()
+                .map(id -> results.getOrDefault(id,
+                        new BulkDecisionResponse.Result(id, BulkDecisionResponse.Outcome.NOT_FOUND, null)))
+                .toList();
+        log.info("Bulk {} by user {}: {} of {} tasks applied", decision, approverId, applied, ids.size());
+        return new BulkDecisionResponse(applied, ordered);
     }
     
+    // Read-write so it runs on the primary: the tasks were just written through other nodes, and a replica may
+    // not have them yet
+    @Transactional
+    public List<TaskResponse> getTasksFromPrimary(Collection<Long> ids) {
+        List<Task> tasks = new ArrayList<>(taskRepository.findAllById(ids));
+        tasks.sort(Comparator.comparing(Task::getId));
+        return convertToResponses(tasks);
+    }
+
+    @Transactional(readOnly = true)
     public TaskResponse getTaskById(Long id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
         return convertToResponse(task);
     }
     
+    private static int clampPageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+    
+    // The role comes from the session principal, so no user is loaded to authorise a decision
+    private void checkCanDecide(AuthenticatedUser approver, Task.Status decision) {
+        if (decision != Task.Status.APPROVED && decision != Task.Status.REJECTED) {
+            throw new IllegalArgumentException("Decision must be APPROVED or REJECTED");
+        }
+        
+        // Validate that approver has MANAGER or ADMIN role
+        if (!approver.canApprove()) {
+            throw new RuntimeException("Only managers and admins can "
+                    + (decision == Task.Status.APPROVED ? "approve" : "reject") + " tasks");
+        }
+    }
+    
+    private List<TaskResponse> convertToResponses(List<Task> tasks) {
+        Map<Long, String> userNames = resolveUserNames(tasks);
+        return tasks.stream()
+                .map(task -> convertToResponse(task, userNames))
+                .collect(Collectors.toList());
+    }
+    
     private TaskResponse convertToResponse(Task task) {
+        return convertToResponse(task, resolveUserNames(List.of(task)));
+    }
+    
+    private TaskResponse convertToResponse(Task task, Map<Long, String> userNames) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
         response.setTitle(task.getTitle());
@@ -143,17 +340,37 @@ public class TaskService {
         response.setApprovalDate(task.getApprovalDate());
         
         // Enrich with user names
-        userRepository.findById(task.getAssignedUserId())
-                .ifPresent(user -> response.setAssignedUserName(user.getName()));
-        
-        userRepository.findById(task.getCreatedBy())
-                .ifPresent(user -> response.setCreatedByName(user.getName()));
-        
+        response.setAssignedUserName(userNames.get(task.getAssignedUserId()));
+        response.setCreatedByName(userNames.get(task.getCreatedBy()));
         if (task.getApprovedBy() != null) {
-            userRepository.findById(task.getApprovedBy())
-                    .ifPresent(user -> response.setApprovedByName(user.getName()));
+            response.setApprovedByName(userNames.get(task.getApprovedBy()));
         }
         
         return response;
     }
+    
+    private Map<Long, String> resolveUserNames(Collection<Task> tasks) {
+        return resolveUserNames(tasks, new HashMap<>());
+    }
+    
+    // Resolve every user referenced by the given tasks that is not already known with a single query
+    private Map<Long, String> resolveUserNames(Collection<Task> tasks, Map<Long, String> userNames) {
+        Set<Long> userIds = new HashSet<>();
+        for (Task task : tasks) {
+            userIds.add(task.getAssignedUserId());
+            userIds.add(task.getCreatedBy());
+            if (task.getApprovedBy() != null) {
+                userIds.add(task.getApprovedBy());
+            }
+        }
+        userIds.remove(null);
+        userIds.removeAll(userNames.keySet());
+        if (userIds.isEmpty()) {
+            return userNames;
+        }
+        
+        userRepository.findNamesByIdIn(userIds)
+                .forEach(user -> userNames.put(user.getId(), user.getName()));
+        return userNames;
+    }
 }
@@ -0,0 +1,274 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.dto.TaskStatisticsResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Task counts by status, priority and assignee, kept in memory so a dashboard never has to download the task
+// list to count it. Rebuilt from one GROUP BY once the application is ready (after any seeding) and then kept
+// current from committed task writes, so reading them costs no query however large the table grows.
+// Writes made through other nodes arrive the same way, published by TaskChangeVersion. The number of writes
+// counted and the latest of their times are the task data version the GET endpoints validate against.
+//
+// The rebuild counts the table as it was at a horizon max-write-delay before the query starts: every write
+// stamped up to then has committed, and the query counts it, while none stamped later is counted. Writes
+// stamped after the horizon are kept as they are applied and replayed onto the rebuilt counters, and a write
+// arriving after the swap that the query already counted is skipped, so none is lost or counted twice.
+@Component
+@Slf4j
+public class TaskStatistics {
+
+    private static final String COUNT_TASKS = "SELECT status, priority, assigned_user_id, assignee_name, COUNT(*), "
+            + "MAX(created_date), MAX(approval_date) FROM ("
+            + "SELECT CASE WHEN t.approval_date <= ? THEN t.status ELSE 'PENDING' END AS status, t.priority, "
+            + "t.assigned_user_id, u.name AS assignee_name, t.created_date, "
+            + "CASE WHEN t.approval_date <= ? THEN t.approval_date END AS approval_date "
+            + "FROM tasks t LEFT JOIN users u ON u.id = t.assigned_user_id WHERE t.created_date <= ?) as_of "
+            + "GROUP BY status, priority, assigned_user_id, assignee_name";
+
+    private static final Task.Status[] STATUSES = Task.Status.values();
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration maxWriteDelay;
+    private volatile Counters counters = new Counters(LocalDateTime.MIN);
+    // Writes applied lately, for a rebuild to replay; oldest first, give or take concurrent writers
+    private final Queue<Applied> recent = new ConcurrentLinkedQueue<>();
+    // Writers apply under the read lock; a rebuild takes the write lock to fix its horizon and to swap
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Horizon of the rebuild in progress, whose replay needs every write after it; guarded by swapLock
+    private LocalDateTime rebuilding;
+
+    public TaskStatistics(JdbcTemplate jdbcTemplate,
+                          @Value("${booking.tasks.max-write-delay:PT10S}") Duration maxWriteDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxWriteDelay = maxWriteDelay;
+    }
+
+    // For tests that replace the table's rows behind the application's back: the writes applied so far are
+    // forgotten rather than replayed
+    public synchronized void reset() {
+        recent.clear();
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        LocalDateTime horizon;
+        swapLock.writeLock().lock();
+        try {
+            horizon = LocalDateTime.now().minus(maxWriteDelay);
+            rebuilding = horizon;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Counters rebuilt = new Counters(horizon);
+        Timestamp asOf = Timestamp.valueOf(horizon);
+        jdbcTemplate.query(COUNT_TASKS, row -> {
+            rebuilt.add(Task.Status.valueOf(row.getString(1)), Task.Priority.valueOf(row.getString(2)),
+                    row.getObject(3, Long.class), row.getString(4), row.getLong(5));
+            rebuilt.modified(row.getTimestamp(6));
+            rebuilt.modified(row.getTimestamp(7));
+        }, asOf, asOf, asOf);
+
+        swapLock.writeLock().lock();
+        try {
+            for (Applied write : recent) {
+                if (write.at.isAfter(horizon)) {
+                    rebuilt.apply(write.event);
+                }
+            }
+            counters = rebuilt;
+            rebuilding = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Task statistics rebuilt: {} tasks", rebuilt.total.sum());
+    }
+
+    public TaskStatisticsResponse current() {
+        return counters.toResponse();
+    }
+
+    // Tasks created plus tasks decided: every write adds one, so the same data gives the same count on every node
+    public long writeCount() {
+        return counters.writes.sum();
+    }
+
+    // Epoch millis of the latest write counted
+    public long lastModified() {
+        return counters.lastModified.get();
+    }
+
+    // Ahead of the listeners that notify clients, so a client told of a write never revalidates against a
+    // version that does not count it yet
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime at = event.changedAt() != null ? event.changedAt() : now;
+        swapLock.readLock().lock();
+        try {
+            Counters current = counters;
+            if (!at.isAfter(current.horizon)) {
+                // Committed before the rebuild query started, which counted it
+                return;
+            }
+            current.apply(event);
+            recent.add(new Applied(event, at));
+
+            // No later rebuild's horizon reaches back this far
+            LocalDateTime keepAfter = now.minus(maxWriteDelay);
+            if (rebuilding != null && rebuilding.isBefore(keepAfter)) {
+                keepAfter = rebuilding;
+            }
+            Applied oldest;
+            while ((oldest = recent.peek()) != null && !oldest.at.isAfter(keepAfter)) {
+                recent.remove(oldest);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private record Applied(TaskChangedEvent event, LocalDateTime at) {
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder writes = new LongAdder();
+        private final AtomicLong lastModified = new AtomicLong();
+        // Writes stamped up to here were counted from the table
+        private final LocalDateTime horizon;
+        private final LongAdder[][] byStatusAndPriority = new LongAdder[STATUSES.length][PRIORITIES.length];
+        private final Map<Long, AssigneeCounters> byAssignee = new ConcurrentHashMap<>();
+
+        private Counters(LocalDateTime horizon) {
+            this.horizon = horizon;
+            for (LongAdder[] row : byStatusAndPriority) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = new LongAdder();
+                }
+            }
+        }
+
+        private void apply(TaskChangedEvent event) {
+            TaskResponse task = event.task();
+            modified(event.changedAt());
+            switch (event.type()) {
+                case CREATED -> add(Task.Status.PENDING, task.getPriority(), task.getAssignedUserId(),
+                        task.getAssignedUserName(), 1);
+                // Decisions only ever move a task out of PENDING, and are published once per task that moved
+                case APPROVED, REJECTED -> move(Task.Status.PENDING, task.getStatus(), task.getPriority(),
+                        task.getAssignedUserId());
+            }
+        }
+
+        private void add(Task.Status status, Task.Priority priority, Long assignee, String assigneeName, long count) {
+            total.add(count);
+            // A task no longer pending was also decided
+            writes.add(status == Task.Status.PENDING ? count : 2 * count);
+            byStatusAndPriority[status.ordinal()][priority.ordinal()].add(count);
+            if (assignee != null) {
+                AssigneeCounters counts = byAssignee.computeIfAbsent(assignee, id -> new AssigneeCounters());
+                if (assigneeName != null) {
+                    counts.name = assigneeName;
+                }
+                counts.byStatus[status.ordinal()].add(count);
+            }
+        }
+
+        // Increment before decrement: a concurrent read may briefly count the task twice, never lose it
+        private void move(Task.Status from, Task.Status to, Task.Priority priority, Long assignee) {
+            writes.increment();
+            byStatusAndPriority[to.ordinal()][priority.ordinal()].increment();
+            byStatusAndPriority[from.ordinal()][priority.ordinal()].decrement();
+            if (assignee != null) {
+                AssigneeCounters counts = byAssignee.computeIfAbsent(assignee, id -> new AssigneeCounters());
+                counts.byStatus[to.ordinal()].increment();
+                counts.byStatus[from.ordinal()].decrement();
+            }
+        }
+
+        private void modified(Timestamp time) {
+            if (time != null) {
+                modified(time.toLocalDateTime());
+            }
+        }
+
+        private void modified(LocalDateTime time) {
+            if (time != null) {
+                long millis = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                lastModified.accumulateAndGet(millis, Math::max);
+            }
+        }
+
+        private TaskStatisticsResponse toResponse() {
+            Map<Task.Status, Long> byStatus = new EnumMap<>(Task.Status.class);
+            Map<Task.Priority, Long> byPriority = new EnumMap<>(Task.Priority.class);
+            for (Task.Status status : STATUSES) {
+                for (Task.Priority priority : PRIORITIES) {
+                    long count = byStatusAndPriority[status.ordinal()][priority.ordinal()].sum();
+                    byStatus.merge(status, count, Long::sum);
+                    byPriority.merge(priority, count, Long::sum);
+                }
+            }
+
+            List<TaskStatisticsResponse.AssigneeCount> assignees = new ArrayList<>(byAssignee.size());
+            byAssignee.forEach((id, counts) -> {
+                Map<Task.Status, Long> statuses = new EnumMap<>(Task.Status.class);
+                long assigned = 0;
+                for (Task.Status status : STATUSES) {
+                    long count = counts.byStatus[status.ordinal()].sum();
+                    statuses.put(status, count);
+                    assigned += count;
+                }
+                if (assigned > 0) {
+                    assignees.add(new TaskStatisticsResponse.AssigneeCount(id, counts.name, assigned, statuses));
+                }
+            });
+            assignees.sort(Comparator.comparing(TaskStatisticsResponse.AssigneeCount::getUserId));
+            return new TaskStatisticsResponse(total.sum(), byStatus, byPriority, assignees);
+        }
+    }
+
+    private static final class AssigneeCounters {
+
+        private final LongAdder[] byStatus = new LongAdder[STATUSES.length];
+        private volatile String name;
+
+        private AssigneeCounters() {
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new LongAdder();
+            }
+        }
+    }
+}
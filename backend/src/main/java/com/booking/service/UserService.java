@@ -1,8 +1,11 @@
 package com.booking.service;
 
 import com.booking.entity.User;
+import com.booking.exception.PasswordCheckRejectedException;
 import com.booking.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,7 +13,9 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed("booking.service")
 @RequiredArgsConstructor
+@Slf4j
 public class UserService {
     
     private final UserRepository userRepository;
@@ -25,18 +30,22 @@ public class UserService {
         return userRepository.save(user);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(User.Role role) {
         return userRepository.findByRole(role);
     }
@@ -44,4 +53,21 @@ public class UserService {
     public boolean validatePassword(String rawPassword, String encodedPassword) {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
+    
+    // Re-encodes a verified password whose hash predates the configured cost factor. The hash is computed outside
+    // any transaction, so only the conditional update holds a connection. Best effort: the password was already
+    // verified, so a saturated hashing lane keeps the old hash until a later login instead of failing this one.
+    public void rehashPasswordIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        String upgraded;
+        try {
+            upgraded = passwordEncoder.encode(rawPassword);
+        } catch (PasswordCheckRejectedException e) {
+            log.warn("Password rehash for user {} deferred: {}", user.getId(), e.getMessage());
+            return;
+        }
+        userRepository.updatePassword(user.getId(), user.getPassword(), upgraded);
+    }
 }
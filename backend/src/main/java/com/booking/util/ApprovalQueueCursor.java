@@ -0,0 +1,34 @@
+package com.booking.util;
+
+import com.booking.entity.Task;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Opaque keyset cursor over the approval queue ordering (priorityRank, scheduledDate, id)
+public record ApprovalQueueCursor(int priorityRank, LocalDateTime scheduledDate, Long id) {
+
+    // Sorts before every real task, so the first page is just another keyset seek
+    private static final ApprovalQueueCursor START = new ApprovalQueueCursor(-1, LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    public static ApprovalQueueCursor after(Task task) {
+        return new ApprovalQueueCursor(task.getPriorityRank(), task.getScheduledDate(), task.getId());
+    }
+
+    public static ApprovalQueueCursor fromToken(String token) {
+        return token == null || token.isBlank() ? START : decode(token);
+    }
+
+    public static ApprovalQueueCursor decode(String token) {
+        String[] fields = CursorCodec.decode(token, 3);
+        try {
+            return new ApprovalQueueCursor(
+                    Integer.parseInt(fields[0]), LocalDateTime.parse(fields[1]), Long.parseLong(fields[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(priorityRank, scheduledDate, id);
+    }
+}
@@ -2,50 +2,105 @@ package com.booking.util;
 
 import com.booking.dto.TaskResponse;
 import org.springframework.stereotype.Component;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Component
 public class CsvExporter {
-    
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    
+    private static final String HEADER = "ID,Title,Description,Status,Priority,Assigned To,Created By,Created Date,Scheduled Date,Approved By,Approval Date";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     public byte[] exportTasksToCsv(List<TaskResponse> tasks) {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        PrintWriter writer = new PrintWriter(outputStream);
-        
-        // Write CSV header
-        writer.println("ID,Title,Description,Status,Priority,Assigned To,Created By,Created Date,Scheduled Date,Approved By,Approval Date");
-        
-        // Write task data
-        for (TaskResponse task : tasks) {
-            writer.printf("%d,\"%s\",\"%s\",%s,%s,\"%s\",\"%s\",%s,%s,\"%s\",%s%n",
-                    task.getId(),
-                    escapeCsv(task.getTitle()),
-                    escapeCsv(task.getDescription()),
-                    task.getStatus(),
-                    task.getPriority(),
-                    escapeCsv(task.getAssignedUserName()),
-                    escapeCsv(task.getCreatedByName()),
-                    task.getCreatedDate().format(DATE_FORMATTER),
-                    task.getScheduledDate().format(DATE_FORMATTER),
-                    task.getApprovedByName() != null ? escapeCsv(task.getApprovedByName()) : "",
-                    task.getApprovalDate() != null ? task.getApprovalDate().format(DATE_FORMATTER) : ""
-            );
-        }
-        
-        writer.flush();
-        writer.close();
-        
+        try (TaskCsvWriter writer = open(outputStream)) {
+            for (TaskResponse task : tasks) {
+                writer.writeRow(task);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return outputStream.toByteArray();
     }
-    
-    private String escapeCsv(String value) {
-        if (value == null) {
-            return "";
+
+    // Writes the header immediately; rows are appended one at a time straight to the stream
+    public TaskCsvWriter open(OutputStream outputStream) throws IOException {
+        TaskCsvWriter writer = new TaskCsvWriter(
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+        writer.writeHeader();
+        return writer;
+    }
+
+    public static class TaskCsvWriter implements AutoCloseable {
+
+        private final Writer writer;
+        private final StringBuilder row = new StringBuilder(512);
+
+        private TaskCsvWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void writeHeader() throws IOException {
+            writer.write(HEADER);
+            writer.write(LINE_SEPARATOR);
+        }
+
+        public void writeRow(TaskResponse task) throws IOException {
+            row.setLength(0);
+            row.append(task.getId()).append(',');
+            appendQuoted(task.getTitle()).append(',');
+            appendQuoted(task.getDescription()).append(',');
+            row.append(task.getStatus()).append(',');
+            row.append(task.getPriority()).append(',');
+            appendQuoted(task.getAssignedUserName()).append(',');
+            appendQuoted(task.getCreatedByName()).append(',');
+            appendDate(task.getCreatedDate()).append(',');
+            appendDate(task.getScheduledDate()).append(',');
+            appendQuoted(task.getApprovedByName()).append(',');
+            appendDate(task.getApprovalDate());
+            row.append(LINE_SEPARATOR);
+            writer.append(row);
+        }
+
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+
+        private StringBuilder appendQuoted(String value) {
+            row.append('"');
+            if (value != null) {
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '"') {
+                        row.append('"');
+                    }
+                    row.append(c);
+                }
+            }
+            return row.append('"');
+        }
+
+        private StringBuilder appendDate(LocalDateTime date) {
+            if (date != null) {
+                DATE_FORMATTER.formatTo(date, row);
+            }
+            return row;
         }
-        return value.replace("\"", "\"\"");
     }
 }
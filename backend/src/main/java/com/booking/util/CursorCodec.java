@@ -0,0 +1,38 @@
+package com.booking.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Packs keyset cursor fields into an opaque URL-safe token
+final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    static String encode(Object... fields) {
+        StringBuilder raw = new StringBuilder();
+        for (Object field : fields) {
+            if (!raw.isEmpty()) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(field);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String token, int fieldCount) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] fields = raw.split("\\" + SEPARATOR, -1);
+        if (fields.length != fieldCount) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,33 @@
+package com.booking.util;
+
+import com.booking.entity.Task;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Opaque keyset cursor over the (createdDate, id) task ordering
+public record TaskCursor(LocalDateTime createdDate, Long id) {
+
+    // Sorts after every real task, so the first page is just another keyset seek
+    private static final TaskCursor START = new TaskCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static TaskCursor after(Task task) {
+        return new TaskCursor(task.getCreatedDate(), task.getId());
+    }
+
+    public static TaskCursor fromToken(String token) {
+        return token == null || token.isBlank() ? START : decode(token);
+    }
+
+    public static TaskCursor decode(String token) {
+        String[] fields = CursorCodec.decode(token, 2);
+        try {
+            return new TaskCursor(LocalDateTime.parse(fields[0]), Long.parseLong(fields[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(createdDate, id);
+    }
+}
@@ -0,0 +1,216 @@
+package com.booking.util;
+
+import com.booking.dto.TaskRequest;
+import com.booking.entity.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Reads tasks to import one record at a time, so an upload of any size is never held in memory.
+// A record that cannot be turned into a TaskRequest comes back as a row with an error instead of ending the read.
+public abstract class TaskImportReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    // number is the 1-based data row (CSV) or line (NDJSON); exactly one of request and error is set
+    public record Row(long number, TaskRequest request, String error) {
+    }
+
+    protected final BufferedReader reader;
+    protected long number;
+
+    private TaskImportReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // Spreadsheet tools like to start UTF-8 files with a byte order mark
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    public static TaskImportReader open(InputStream inputStream, Format format, ObjectMapper objectMapper) throws IOException {
+        return format == Format.CSV ? new CsvReader(inputStream) : new NdjsonReader(inputStream, objectMapper);
+    }
+
+    // Null at the end of the input
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Header-addressed columns in any order: title, description, priority, assignedUserId, scheduledDate.
+    // Dates are ISO-8601 or "yyyy-MM-dd HH:mm" as written by the CSV export.
+    private static final class CsvReader extends TaskImportReader {
+
+        private static final DateTimeFormatter DATE_FORMATTER = new DateTimeFormatterBuilder()
+                .appendOptional(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                .appendOptional(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]"))
+                .toFormatter();
+        private static final List<String> COLUMNS = List.of("title", "description", "priority", "assigneduserid", "scheduleddate");
+
+        private final int[] positions = new int[COLUMNS.size()];
+        private final StringBuilder field = new StringBuilder();
+
+        private CsvReader(InputStream inputStream) throws IOException {
+            super(inputStream);
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV import is empty");
+            }
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                positions[i] = indexOf(header, COLUMNS.get(i));
+            }
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                // Description is optional
+                if (positions[i] < 0 && i != 1) {
+                    missing.add(COLUMNS.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+                number++;
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            try {
+                TaskRequest request = new TaskRequest();
+                request.setTitle(blankToNull(value(values, 0)));
+                request.setDescription(blankToNull(value(values, 1)));
+                String priority = blankToNull(value(values, 2));
+                if (priority != null) {
+                    request.setPriority(Task.Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT)));
+                }
+                String assignee = blankToNull(value(values, 3));
+                if (assignee != null) {
+                    request.setAssignedUserId(Long.valueOf(assignee.trim()));
+                }
+                String scheduled = blankToNull(value(values, 4));
+                if (scheduled != null) {
+                    request.setScheduledDate(LocalDateTime.parse(scheduled.trim(), DATE_FORMATTER));
+                }
+                return new Row(number, request, null);
+            } catch (NumberFormatException e) {
+                return new Row(number, null, "Assigned user id is not a number");
+            } catch (DateTimeParseException e) {
+                return new Row(number, null, "Scheduled date '" + e.getParsedString() + "' is not a date and time");
+            } catch (IllegalArgumentException e) {
+                return new Row(number, null, "Priority must be one of LOW, MEDIUM, HIGH");
+            }
+        }
+
+        private String value(List<String> values, int column) {
+            int position = positions[column];
+            return position >= 0 && position < values.size() ? values.get(position) : null;
+        }
+
+        // RFC 4180: quoted fields may hold commas, doubled quotes and line breaks
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        values.add(field.toString());
+                        return values;
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == -1 || c == '\n') {
+                    values.add(field.toString());
+                    return values;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+
+        private static int indexOf(List<String> header, String column) {
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replaceAll("[\\s_-]", "").toLowerCase(Locale.ROOT);
+                if (name.equals(column)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+
+    // One TaskRequest JSON object per line, in the same shape POST /api/tasks accepts
+    private static final class NdjsonReader extends TaskImportReader {
+
+        private final ObjectMapper objectMapper;
+
+        private NdjsonReader(InputStream inputStream, ObjectMapper objectMapper) throws IOException {
+            super(inputStream);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                number++;
+            } while (line.isBlank());
+
+            try {
+                return new Row(number, objectMapper.readValue(line, TaskRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
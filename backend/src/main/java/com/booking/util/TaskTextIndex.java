@@ -0,0 +1,414 @@
+package com.booking.util;
+
+import com.booking.entity.Task;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over task titles and descriptions. Each task gets an ordinal in the order it was added, so every
+// posting list is sorted without ever being re-sorted; per-task status and assignee sit in parallel arrays for
+// filtering. Hits must contain every query word, the last letters of each word may be left off (prefix match),
+// and they are ranked by BM25 with title words counting TITLE_WEIGHT times. Titles and descriptions are never
+// edited after creation, so after add() only a task's status changes.
+public class TaskTextIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    // A word only matched as the start of a longer one ranks below an exact match
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final int MAX_FREQUENCY = 255;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id);
+
+    private final int maxPrefixTerms;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final IdOrdinals ordinals = new IdOrdinals();
+
+    // Indexed by ordinal
+    private long[] ids = new long[1024];
+    private long[] assignees = new long[1024];
+    private byte[] statuses = new byte[1024];
+    private int[] lengths = new int[1024];
+    private int size;
+    private long totalLength;
+
+    public TaskTextIndex(int maxPrefixTerms) {
+        this.maxPrefixTerms = maxPrefixTerms;
+    }
+
+    public record Result(int totalHits, List<Long> ids) {
+    }
+
+    private record Hit(long id, float score) {
+    }
+
+    private record Term(Postings postings, float weight) {
+    }
+
+    // Returns false when the task is already indexed; it is then left as it is, since whoever added it first
+    // (a bulk load or a create event) saw a state at least as recent as this one
+    public boolean add(long id, String title, String description, Task.Status status, Long assignee) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(title, TITLE_WEIGHT, frequencies) + count(description, 1, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            if (ordinals.get(id) >= 0) {
+                return false;
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                assignees = Arrays.copyOf(assignees, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            assignees[ordinal] = assignee != null ? assignee : 0;
+            statuses[ordinal] = (byte) status.ordinal();
+            lengths[ordinal] = length;
+            totalLength += length;
+            ordinals.put(id, ordinal);
+            frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, t -> new Postings())
+                    .add(ordinal, Math.min(frequency, MAX_FREQUENCY)));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStatus(long id, Task.Status status) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.get(id);
+            if (ordinal >= 0) {
+                statuses[ordinal] = (byte) status.ordinal();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // status and assignee are optional filters
+    public Result search(String query, Task.Status status, Long assignee, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || limit <= 0) {
+            return new Result(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Term>> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                List<Term> expansions = expand(word);
+                if (expansions.isEmpty()) {
+                    return new Result(0, List.of());
+                }
+                matches.add(expansions);
+            }
+            // The rarest word yields the fewest candidates; the others are only probed for those
+            matches.sort(Comparator.comparingLong(TaskTextIndex::postingCount));
+
+            byte wantedStatus = status != null ? (byte) status.ordinal() : -1;
+            long wantedAssignee = assignee != null ? assignee : 0;
+            Candidates candidates = collect(matches.get(0), wantedStatus, wantedAssignee);
+            for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+                candidates.retainScored(matches.get(i), this);
+            }
+            return new Result(candidates.size, candidates.top(limit, ids));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased words of letters and digits with accents folded away, minus a few English stop words
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+                continue;
+            }
+            if (!token.isEmpty()) {
+                if (token.length() <= MAX_TOKEN_LENGTH && !STOP_WORDS.contains(token.toString())) {
+                    tokens.add(token.toString());
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static int count(String text, int weight, Map<String, Integer> frequencies) {
+        int length = 0;
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+            length += weight;
+        }
+        return length;
+    }
+
+    private List<Term> expand(String word) {
+        List<Term> expansions = new ArrayList<>();
+        Postings exact = terms.get(word);
+        if (exact != null) {
+            expansions.add(new Term(exact, idf(exact)));
+        }
+        if (word.length() >= MIN_PREFIX_LENGTH) {
+            int prefixTerms = 0;
+            for (Postings postings : terms.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+                if (prefixTerms++ == maxPrefixTerms) {
+                    break;
+                }
+                expansions.add(new Term(postings, idf(postings) * PREFIX_WEIGHT));
+            }
+        }
+        return expansions;
+    }
+
+    private static long postingCount(List<Term> expansions) {
+        long count = 0;
+        for (Term term : expansions) {
+            count += term.postings().size;
+        }
+        return count;
+    }
+
+    private float idf(Postings postings) {
+        return (float) Math.log(1 + (size - postings.size + 0.5) / (postings.size + 0.5));
+    }
+
+    private float score(Term term, int index, int ordinal, float averageLength) {
+        int frequency = term.postings().frequencies[index] & 0xFF;
+        float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+        return term.weight() * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private float averageLength() {
+        return size == 0 ? 1 : Math.max(1, (float) totalLength / size);
+    }
+
+    private Candidates collect(List<Term> expansions, byte wantedStatus, long wantedAssignee) {
+        float averageLength = averageLength();
+        // (ordinal, score) pairs packed into longs so the union of several posting lists is one primitive sort
+        long[] pairs = new long[(int) postingCount(expansions)];
+        int count = 0;
+        for (Term term : expansions) {
+            Postings postings = term.postings();
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.ordinals[i];
+                if ((wantedStatus >= 0 && statuses[ordinal] != wantedStatus)
+                        || (wantedAssignee != 0 && assignees[ordinal] != wantedAssignee)) {
+                    continue;
+                }
+                float score = score(term, i, ordinal, averageLength);
+                pairs[count++] = ((long) ordinal << 32) | (Float.floatToIntBits(score) & 0xFFFFFFFFL);
+            }
+        }
+        if (expansions.size() > 1) {
+            Arrays.sort(pairs, 0, count);
+        }
+
+        Candidates candidates = new Candidates(count);
+        for (int i = 0; i < count; i++) {
+            int ordinal = (int) (pairs[i] >>> 32);
+            float score = Float.intBitsToFloat((int) pairs[i]);
+            if (candidates.size > 0 && candidates.ordinals[candidates.size - 1] == ordinal) {
+                candidates.scores[candidates.size - 1] += score;
+            } else {
+                candidates.ordinals[candidates.size] = ordinal;
+                candidates.scores[candidates.size++] = score;
+            }
+        }
+        return candidates;
+    }
+
+    // Position of the first value >= target in sorted values[0, size), searching from a cursor that only moves
+    // forward: gallop to bracket the target, then binary search inside the bracket
+    private static int seek(int[] values, int size, int target, int from) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < size && values[high] < target) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(values, low, Math.min(high, size), target);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    // Candidate ordinals in ascending order with their running scores
+    private static final class Candidates {
+
+        private final int[] ordinals;
+        private final float[] scores;
+        private int size;
+
+        private Candidates(int capacity) {
+            ordinals = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        // Keeps the candidates that also contain one of the expansions, adding that word's score. Each expansion
+        // walks whichever of its posting list and the candidates is shorter, so a prefix expanding to many rare
+        // words stays cheap against a long candidate list.
+        private void retainScored(List<Term> expansions, TaskTextIndex index) {
+            float averageLength = index.averageLength();
+            float[] added = new float[size];
+            boolean[] matched = new boolean[size];
+            for (Term term : expansions) {
+                Postings postings = term.postings();
+                int c = 0;
+                int p = 0;
+                while (c < size && p < postings.size) {
+                    if (postings.size < size) {
+                        c = seek(ordinals, size, postings.ordinals[p], c);
+                        if (c < size && ordinals[c] == postings.ordinals[p]) {
+                            added[c] += index.score(term, p, ordinals[c], averageLength);
+                            matched[c++] = true;
+                        }
+                        p++;
+                    } else {
+                        p = seek(postings.ordinals, postings.size, ordinals[c], p);
+                        if (p < postings.size && postings.ordinals[p] == ordinals[c]) {
+                            added[c] += index.score(term, p, ordinals[c], averageLength);
+                            matched[c] = true;
+                            p++;
+                        }
+                        c++;
+                    }
+                }
+            }
+
+            int kept = 0;
+            for (int c = 0; c < size; c++) {
+                if (matched[c]) {
+                    ordinals[kept] = ordinals[c];
+                    scores[kept++] = scores[c] + added[c];
+                }
+            }
+            size = kept;
+        }
+
+        private List<Long> top(int limit, long[] ids) {
+            PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, size) + 1, WORST_FIRST);
+            for (int c = 0; c < size; c++) {
+                Hit hit = new Hit(ids[ordinals[c]], scores[c]);
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (WORST_FIRST.compare(hit, best.peek()) > 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+            Long[] ranked = new Long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll().id();
+            }
+            return Arrays.asList(ranked);
+        }
+    }
+
+    // Ordinals of the tasks containing one term, ascending, with how often it occurs in each
+    private static final class Postings {
+
+        private int[] ordinals = new int[2];
+        private byte[] frequencies = new byte[2];
+        private int size;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                int capacity = size + (size >> 1) + 1;
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size++] = (byte) frequency;
+        }
+    }
+
+    // Task id to ordinal, open addressing over primitive arrays: a million boxed map entries would cost
+    // more memory than the postings. Task ids start at 1, so 0 marks a free slot.
+    private static final class IdOrdinals {
+
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private int count;
+
+        private int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = slot(id, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        private void put(long id, int ordinal) {
+            if ((count + 1) * 2 > keys.length) {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = new long[oldKeys.length * 2];
+                values = new int[oldValues.length * 2];
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != 0) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            insert(id, ordinal);
+            count++;
+        }
+
+        private void insert(long id, int ordinal) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = ordinal;
+        }
+
+        private static int slot(long id, int mask) {
+            long mixed = id * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+}
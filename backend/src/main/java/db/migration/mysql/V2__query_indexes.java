@@ -0,0 +1,86 @@
+package db.migration.mysql;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Query indexes and the priority_rank backfill. MySQL databases baselined from ddl-auto=update arrive here in
+// one of three shapes: created before priority_rank existed (V1 skipped the existing tasks table, so the column
+// is missing), created from the entity that declared these indexes (Hibernate already made them under the same
+// names), or created by V1. MySQL has no ADD COLUMN/CREATE INDEX IF NOT EXISTS, so each step checks the catalog
+// first and the migration applies to all three.
+public class V2__query_indexes extends BaseJavaMigration {
+
+    private record Index(String table, String name, String columns) {
+    }
+
+    private static final List<Index> INDEXES = List.of(
+            // Task list filters and keyset pages: (filter column, created_date, id)
+            new Index("tasks", "idx_tasks_created", "created_date, id"),
+            new Index("tasks", "idx_tasks_status_created", "status, created_date, id"),
+            new Index("tasks", "idx_tasks_priority_created", "priority, created_date, id"),
+            new Index("tasks", "idx_tasks_assignee_created", "assigned_user_id, created_date, id"),
+            new Index("tasks", "idx_tasks_creator_created", "created_by, created_date, id"),
+            // Calendar range queries
+            new Index("tasks", "idx_tasks_scheduled", "scheduled_date"),
+            // Approval queue in priority order
+            new Index("tasks", "idx_tasks_approval_queue", "status, priority_rank, scheduled_date, id"),
+            new Index("users", "idx_users_role", "role"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            boolean addRank = !hasColumn(connection, "tasks", "priority_rank");
+            if (addRank) {
+                statement.execute("ALTER TABLE tasks ADD COLUMN priority_rank INT NOT NULL DEFAULT 2");
+            }
+            // Rows written before priority_rank existed hold the column default, whether ddl-auto or this added it
+            statement.executeUpdate(
+                    "UPDATE tasks SET priority_rank = CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END");
+            if (addRank) {
+                statement.execute("ALTER TABLE tasks ALTER COLUMN priority_rank DROP DEFAULT");
+            }
+
+            for (Index index : INDEXES) {
+                if (!indexNames(connection, index.table()).contains(index.name())) {
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + index.table() + " (" + index.columns() + ")");
+                }
+            }
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), identifier(metaData, column))) {
+            return columns.next();
+        }
+    }
+
+    private static Set<String> indexNames(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> names = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), false, false)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase());
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+}
@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'MANAGER', 'USER')),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED')),
+    priority VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    priority_rank INTEGER NOT NULL,
+    assigned_user_id BIGINT NOT NULL,
+    created_by BIGINT NOT NULL,
+    created_date TIMESTAMP(6) NOT NULL,
+    scheduled_date TIMESTAMP(6) NOT NULL,
+    approved_by BIGINT,
+    approval_date TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,14 @@
+-- Task list filters and keyset pages: (filter column, created_date, id)
+CREATE INDEX idx_tasks_created ON tasks (created_date, id);
+CREATE INDEX idx_tasks_status_created ON tasks (status, created_date, id);
+CREATE INDEX idx_tasks_priority_created ON tasks (priority, created_date, id);
+CREATE INDEX idx_tasks_assignee_created ON tasks (assigned_user_id, created_date, id);
+CREATE INDEX idx_tasks_creator_created ON tasks (created_by, created_date, id);
+
+-- Calendar range queries
+CREATE INDEX idx_tasks_scheduled ON tasks (scheduled_date);
+
+-- Approval queue in priority order
+CREATE INDEX idx_tasks_approval_queue ON tasks (status, priority_rank, scheduled_date, id);
+
+CREATE INDEX idx_users_role ON users (role);
@@ -0,0 +1,17 @@
+-- Decision notifications written in the same transaction as the task update, drained by NotificationDispatcher
+CREATE TABLE notification_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    task_id BIGINT NOT NULL,
+    task_title VARCHAR(255) NOT NULL,
+    decision VARCHAR(255) NOT NULL CHECK (decision IN ('PENDING', 'APPROVED', 'REJECTED')),
+    actor_name VARCHAR(255) NOT NULL,
+    actor_role VARCHAR(255) NOT NULL CHECK (actor_role IN ('ADMIN', 'MANAGER', 'USER')),
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6),
+    last_error VARCHAR(1000),
+    created_date TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Due rows in delivery order; rows that exhausted their retries have no next attempt
+CREATE INDEX idx_outbox_due ON notification_outbox (next_attempt_at, id);
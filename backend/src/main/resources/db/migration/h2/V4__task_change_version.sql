@@ -0,0 +1,10 @@
+-- One row, bumped by every transaction that writes tasks. The task ETag is derived from it, and each node
+-- polls it to notice writes made through the other nodes.
+CREATE TABLE task_change_version (
+    id INTEGER NOT NULL,
+    version BIGINT NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO task_change_version (id, version, changed_at) VALUES (1, 0, CURRENT_TIMESTAMP(6));
@@ -0,0 +1,27 @@
+-- IF NOT EXISTS lets databases previously created by ddl-auto adopt this baseline unchanged
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    role ENUM('ADMIN', 'MANAGER', 'USER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    status ENUM('PENDING', 'APPROVED', 'REJECTED') NOT NULL,
+    priority ENUM('LOW', 'MEDIUM', 'HIGH') NOT NULL,
+    priority_rank INT NOT NULL,
+    assigned_user_id BIGINT NOT NULL,
+    created_by BIGINT NOT NULL,
+    created_date DATETIME(6) NOT NULL,
+    scheduled_date DATETIME(6) NOT NULL,
+    approved_by BIGINT,
+    approval_date DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
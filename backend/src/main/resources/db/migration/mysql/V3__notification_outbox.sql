@@ -0,0 +1,17 @@
+-- Decision notifications written in the same transaction as the task update, drained by NotificationDispatcher
+CREATE TABLE notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    task_id BIGINT NOT NULL,
+    task_title VARCHAR(255) NOT NULL,
+    decision ENUM('PENDING', 'APPROVED', 'REJECTED') NOT NULL,
+    actor_name VARCHAR(255) NOT NULL,
+    actor_role ENUM('ADMIN', 'MANAGER', 'USER') NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6),
+    last_error VARCHAR(1000),
+    created_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Due rows in delivery order; rows that exhausted their retries have no next attempt
+CREATE INDEX idx_outbox_due ON notification_outbox (next_attempt_at, id);
@@ -0,0 +1,6 @@
+-- A dispatcher claims due rows before sending them, so two nodes never deliver the same notification. The
+-- claim lapses at claimed_until, when a dispatcher that died mid-batch leaves its rows to the others.
+ALTER TABLE notification_outbox ADD COLUMN claimed_by VARCHAR(64);
+ALTER TABLE notification_outbox ADD COLUMN claimed_until DATETIME(6);
+
+CREATE INDEX idx_outbox_claimed ON notification_outbox (claimed_by, id);
@@ -0,0 +1,5 @@
+-- Nodes no longer bump a shared row inside every task write. Each one finds the others' writes by scanning the
+-- tasks created or decided since its last look, which needs approval_date indexed as created_date already is.
+DROP TABLE task_change_version;
+
+CREATE INDEX idx_tasks_approved ON tasks (approval_date, id);
@@ -0,0 +1,141 @@
+package com.booking.benchmark;
+
+import com.booking.BookingManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Shows GET /api/tasks latency before and during a login storm, with BCrypt on the request threads
+// (booking.auth.hash-lane.enabled=false) and on the bounded hashing lane.
+// Not a unit test: run with
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.booking.benchmark.LoginBurstBenchmark [loginClients] [seconds]
+public class LoginBurstBenchmark {
+
+    private static final String LOGIN_BODY = "{\"username\":\"manager\",\"password\":\"password123\"}";
+    private static final int TASK_CLIENTS = 8;
+
+    public static void main(String[] args) throws Exception {
+        int loginClients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        System.out.printf("%d clients polling GET /api/tasks, %d clients logging in, %ds per phase%n%n",
+                TASK_CLIENTS, loginClients, seconds);
+        System.out.printf("%-14s %-12s %10s %10s %10s %12s %14s%n",
+                "hashing", "phase", "tasks/s", "p50 ms", "p99 ms", "logins/s", "logins shed");
+        for (boolean lane : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(lane)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String mode = lane ? "bounded lane" : "request thread";
+                HttpClient http = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                run(http, port, 0, Math.max(1, seconds / 4));
+                report(mode, "quiet", run(http, port, 0, seconds));
+                report(mode, "login burst", run(http, port, loginClients, seconds));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean lane) {
+        return new SpringApplicationBuilder(BookingManagementApplication.class)
+                .run("--server.port=0",
+                        "--booking.auth.hash-lane.enabled=" + lane,
+                        "--spring.datasource.url=jdbc:h2:mem:login-burst-" + lane,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.booking=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.apache.catalina=ERROR");
+    }
+
+    // Closed loop for both populations: each client sends its next request when the previous one completes
+    private static Result run(HttpClient http, int port, int loginClients, int seconds) throws Exception {
+        HttpRequest tasks = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] latencies = new long[1 << 20];
+        AtomicLong taskCount = new AtomicLong();
+        Map<Integer, LongAdder> loginStatuses = new ConcurrentHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < TASK_CLIENTS; c++) {
+                executor.submit(() -> {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            if (http.send(tasks, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                                int index = (int) taskCount.getAndIncrement();
+                                if (index < latencies.length) {
+                                    latencies[index] = System.nanoTime() - start;
+                                }
+                            }
+                        } catch (Exception e) {
+                            // Counted as missing throughput
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (int c = 0; c < loginClients; c++) {
+                executor.submit(() -> {
+                    while (running.get()) {
+                        int status;
+                        try {
+                            status = http.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        loginStatuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        if (status == 503) {
+                            Thread.sleep(1000);
+                        }
+                    }
+                    return null;
+                });
+            }
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, (int) Math.min(taskCount.get(), latencies.length));
+        Arrays.sort(sorted);
+        long logins = loginStatuses.getOrDefault(200, new LongAdder()).sum();
+        long shed = loginStatuses.getOrDefault(503, new LongAdder()).sum();
+        return new Result(sorted.length / (double) seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                logins / (double) seconds, shed);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    private static void report(String mode, String phase, Result result) {
+        System.out.printf("%-14s %-12s %10.0f %10.1f %10.1f %12.1f %14d%n", mode, phase, result.tasksPerSecond(),
+                result.p50() / 1e6, result.p99() / 1e6, result.loginsPerSecond(), result.loginsShed());
+    }
+
+    private record Result(double tasksPerSecond, long p50, long p99, double loginsPerSecond, long loginsShed) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.booking.benchmark;
+
+import com.booking.BookingManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compares platform-thread and virtual-thread request handling against the embedded H2 database.
+// Not a unit test: run with
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.booking.benchmark.RequestModeBenchmark [clients] [seconds]
+public class RequestModeBenchmark {
+
+    private static final String LOGIN_BODY = "{\"username\":\"manager\",\"password\":\"password123\"}";
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 800;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.printf("%d concurrent clients, %ds measured after a %ds warm-up%n%n", clients, seconds, seconds / 4);
+        System.out.printf("%-9s %-16s %10s %10s %10s %10s %8s%n",
+                "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String mode = virtualThreads ? "virtual" : "platform";
+                report(mode, "GET /api/tasks", run(get(port, "/api/tasks"), clients, seconds));
+                report(mode, "POST login", run(login(port), clients, seconds));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        // Passed as arguments because builder properties rank below application.properties
+        return new SpringApplicationBuilder(BookingManagementApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.booking=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.apache.catalina=ERROR");
+    }
+
+    private static HttpRequest get(int port, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest login(int port) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+    }
+
+    // Closed loop: every client sends its next request as soon as the previous one completes
+    private static Result run(HttpRequest request, int clients, int seconds) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        measure(http, request, clients, Math.max(1, seconds / 4));
+        return measure(http, request, clients, seconds);
+    }
+
+    private static Result measure(HttpClient http, HttpRequest request, int clients, int seconds) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong errors = new AtomicLong();
+        List<long[]> perClient = new ArrayList<>();
+        List<int[]> counts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] latencies = new long[1 << 16];
+                int[] count = new int[1];
+                perClient.add(latencies);
+                counts.add(count);
+                executor.submit(() -> {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count[0] < latencies.length) {
+                            latencies[count[0]++] = System.nanoTime() - start;
+                        }
+                    }
+                    return null;
+                });
+            }
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+        }
+
+        int total = counts.stream().mapToInt(count -> count[0]).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(perClient.get(c), 0, all, offset, counts.get(c)[0]);
+            offset += counts.get(c)[0];
+        }
+        Arrays.sort(all);
+        return new Result(total / (double) seconds, percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1], errors.get());
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+
+    private static void report(String mode, String endpoint, Result result) {
+        System.out.printf("%-9s %-16s %10.0f %10.1f %10.1f %10.1f %8d%n", mode, endpoint, result.throughput(),
+                result.p50() / 1e6, result.p99() / 1e6, result.max() / 1e6, result.errors());
+    }
+
+    private record Result(double throughput, long p50, long p99, long max, long errors) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.booking.benchmark;
+
+import com.booking.BookingManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// Rows per second for loading tasks: one POST /api/tasks per row (what a script replaying a spreadsheet does)
+// against POST /api/tasks/import with booking.import.batch-size=1 and with the default 500.
+// Not a unit test: run with
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.booking.benchmark.TaskImportBenchmark [rows]
+// Each run starts the app on a fresh in-memory H2. The table ignores network latency to
+// the database, which on a real MySQL makes the per-row round trips costlier still.
+public class TaskImportBenchmark {
+
+    private static final String LOGIN_BODY = "{\"username\":\"manager\",\"password\":\"password123\"}";
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        System.out.printf("Loading %d tasks%n%n", rows);
+        System.out.printf("%-26s %10s %12s%n", "method", "seconds", "rows/s");
+        report("POST /api/tasks per row", createPerRow(rows));
+        for (int batchSize : new int[]{1, 500}) {
+            report("import, batch-size=" + batchSize, importBatched(rows, batchSize));
+        }
+    }
+
+    private static Result createPerRow(int rows) throws Exception {
+        try (ConfigurableApplicationContext context = start(500)) {
+            HttpClient http = login(port(context));
+            // Warm-up, not timed
+            for (int i = 0; i < Math.min(rows / 10, 500); i++) {
+                create(http, port(context), i);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                create(http, port(context), i);
+            }
+            return new Result(rows, System.nanoTime() - start);
+        }
+    }
+
+    private static Result importBatched(int rows, int batchSize) throws Exception {
+        try (ConfigurableApplicationContext context = start(batchSize)) {
+            HttpClient http = login(port(context));
+            upload(http, port(context), Math.min(rows / 10, 500));
+            long start = System.nanoTime();
+            String body = upload(http, port(context), rows);
+            long elapsed = System.nanoTime() - start;
+            if (!body.contains("\"imported\":" + rows)) {
+                throw new IllegalStateException("Import did not load every row: " + body);
+            }
+            return new Result(rows, elapsed);
+        }
+    }
+
+    private static void create(HttpClient http, int port, int i) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Row " + i + "\",\"priority\":\"MEDIUM\","
+                        + "\"assignedUserId\":" + (1 + i % 3) + ",\"scheduledDate\":\"2030-01-05T10:00:00\"}"))
+                .build();
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Create returned " + response.statusCode());
+        }
+    }
+
+    private static String upload(HttpClient http, int port, int rows) throws Exception {
+        StringBuilder csv = new StringBuilder("title,priority,assignedUserId,scheduledDate\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Row ").append(i).append(",MEDIUM,").append(1 + i % 3).append(",2030-01-05T10:00\n");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/import"))
+                .header("Content-Type", "text/csv")
+                .timeout(Duration.ofMinutes(10))
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static HttpClient login(int port) throws Exception {
+        HttpClient http = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+        http.send(login, HttpResponse.BodyHandlers.discarding());
+        return http;
+    }
+
+    private static ConfigurableApplicationContext start(int batchSize) {
+        return new SpringApplicationBuilder(BookingManagementApplication.class)
+                .run("--server.port=0",
+                        "--booking.import.batch-size=" + batchSize,
+                        "--spring.datasource.url=jdbc:h2:mem:import-" + batchSize + "-" + System.nanoTime(),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.booking=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.apache.catalina=ERROR");
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static void report(String method, Result result) {
+        System.out.printf("%-26s %10.2f %12.0f%n", method, result.nanos() / 1e9, result.rows() / (result.nanos() / 1e9));
+    }
+
+    private record Result(int rows, long nanos) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.booking.benchmark;
+
+import com.booking.entity.Task;
+import com.booking.util.TaskTextIndex;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+
+// Keyword search latency over generated tasks: the in-memory TaskTextIndex against the LIKE '%word%' scans
+// a SQL search would need, on an H2 in-memory table holding the same rows.
+// Not a unit test: run with
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -Xmx3g -cp target/classes:target/test-classes:$(cat target/cp.txt) com.booking.benchmark.TaskSearchBenchmark [tasks]
+// Words are drawn from a 20,000 word vocabulary with a Zipf-like skew, so queries mix very common and rare words.
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int LIMIT = 50;
+    private static final String[] QUERIES = {"w12", "w3 w250", "w7 w9", "w4100 w16", "w11 w1200 w3", "w999", "w15"};
+
+    public static void main(String[] args) throws Exception {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        String[] titles = new String[tasks];
+        String[] descriptions = new String[tasks];
+        for (int i = 0; i < tasks; i++) {
+            titles[i] = words(random, 3 + random.nextInt(4));
+            descriptions[i] = words(random, 15 + random.nextInt(30));
+        }
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        TaskTextIndex index = new TaskTextIndex(64);
+        for (int i = 0; i < tasks; i++) {
+            index.add(i + 1, titles[i], descriptions[i], Task.Status.values()[i % 3], (long) (i % 500) + 1);
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        System.out.printf("Indexed %d tasks in %d ms, about %d MB of heap%n%n", tasks, buildMillis,
+                (usedHeap() - heapBefore) / (1024 * 1024));
+
+        System.out.printf("%-16s %10s %12s %12s %14s%n", "query", "hits", "index p50", "index p99", "LIKE scan");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark")) {
+            load(connection, titles, descriptions);
+            for (String query : QUERIES) {
+                // Prefix form of the last word, as typed into a search box
+                String typed = query.substring(0, query.length() - 1);
+                for (String q : new String[]{query, typed}) {
+                    long[] latencies = new long[200];
+                    int hits = 0;
+                    for (int warmup = 0; warmup < 50; warmup++) {
+                        index.search(q, null, null, LIMIT);
+                    }
+                    for (int i = 0; i < latencies.length; i++) {
+                        long t = System.nanoTime();
+                        hits = index.search(q, Task.Status.PENDING, null, LIMIT).totalHits();
+                        latencies[i] = System.nanoTime() - t;
+                    }
+                    Arrays.sort(latencies);
+                    System.out.printf("%-16s %10d %10.2fms %10.2fms %12.0fms%n", q, hits,
+                            latencies[latencies.length / 2] / 1e6, latencies[latencies.length * 99 / 100] / 1e6,
+                            likeScan(connection, q) / 1e6);
+                }
+            }
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // Zipf-like: word n is drawn roughly in proportion to 1/n
+            int word = (int) Math.pow(VOCABULARY, random.nextDouble());
+            text.append(i == 0 ? "" : " ").append('w').append(word);
+        }
+        return text.toString();
+    }
+
+    private static void load(Connection connection, String[] titles, String[] descriptions) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), "
+                    + "description VARCHAR(1000), status VARCHAR(20))");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO tasks VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < titles.length; i++) {
+                insert.setLong(1, i + 1);
+                insert.setString(2, titles[i]);
+                insert.setString(3, descriptions[i]);
+                insert.setString(4, Task.Status.values()[i % 3].name());
+                insert.addBatch();
+                if (i % 5000 == 4999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    // Best of three runs of the query SQL would need, unranked and without word boundaries
+    private static long likeScan(Connection connection, String query) throws Exception {
+        String[] words = query.split(" ");
+        StringBuilder sql = new StringBuilder("SELECT id FROM tasks WHERE status = 'PENDING'");
+        for (int i = 0; i < words.length; i++) {
+            sql.append(" AND (LOWER(title) LIKE ? OR LOWER(description) LIKE ?)");
+        }
+        sql.append(" ORDER BY id DESC LIMIT ").append(LIMIT);
+        long best = Long.MAX_VALUE;
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < words.length; i++) {
+                statement.setString(2 * i + 1, "%" + words[i] + "%");
+                statement.setString(2 * i + 2, "%" + words[i] + "%");
+            }
+            for (int run = 0; run < 3; run++) {
+                long t = System.nanoTime();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        rows.getLong(1);
+                    }
+                }
+                best = Math.min(best, System.nanoTime() - t);
+            }
+        }
+        return best;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
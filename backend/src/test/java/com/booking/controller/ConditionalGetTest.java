@@ -0,0 +1,173 @@
+package com.booking.controller;
+
+import com.booking.dto.TaskColumns;
+import com.booking.entity.User;
+import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.TaskChangeVersion;
+import com.booking.service.TaskStatistics;
+import com.booking.support.StatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Polls of unchanged task data are answered with 304 before any SQL runs
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "booking.notifications.poll-interval=PT1H",
+        "booking.cluster.sync-interval=PT1H"})
+@AutoConfigureMockMvc
+@Import(StatementRecorder.Config.class)
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskChangeVersion changeVersion;
+
+    @Autowired
+    private TaskStatistics statistics;
+
+    private MockHttpSession managerSession;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User manager = userRepository.findByUsername("manager").orElseThrow();
+        managerSession = new MockHttpSession();
+        AuthenticatedUser.of(manager).storeIn(managerSession);
+        taskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tasks", Long.class);
+    }
+
+    @Test
+    void testUnchangedListIsNotModifiedWithoutQuerying() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(1, first.getHeaders(HttpHeaders.ETAG).size());
+        assertNotNull(first.getHeader(HttpHeaders.LAST_MODIFIED));
+
+        StatementRecorder.Recording recording = statementRecorder.record(() -> mockMvc.perform(get("/api/tasks")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+
+        assertEquals(0, recording.roundTrips());
+    }
+
+    // Each form has its own ETag, and every answer, 304s included, tells caches that it depends on Accept
+    @Test
+    void testListFormsHaveTheirOwnValidators() throws Exception {
+        MockHttpServletResponse json = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertEquals(1, json.getHeaders(HttpHeaders.VARY).stream().filter(HttpHeaders.ACCEPT::equals).count());
+        String jsonEtag = json.getHeader(HttpHeaders.ETAG);
+        String columnsEtag = mockMvc.perform(get("/api/tasks").accept(TaskColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(jsonEtag, columnsEtag);
+
+        mockMvc.perform(get("/api/tasks").accept(TaskColumns.MEDIA_TYPE).header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TaskColumns.MEDIA_TYPE))
+                .andExpect(header().string(HttpHeaders.ETAG, columnsEtag));
+        mockMvc.perform(get("/api/tasks").accept(TaskColumns.MEDIA_TYPE).header(HttpHeaders.IF_NONE_MATCH, columnsEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void testUnchangedTaskIsNotModifiedWithoutQuerying() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        StatementRecorder.Recording recording = statementRecorder.record(() -> mockMvc.perform(get("/api/tasks/{id}", taskId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+
+        assertEquals(0, recording.roundTrips());
+    }
+
+    @Test
+    void testTaskWritesChangeTheVersion() throws Exception {
+        String before = mockMvc.perform(get("/api/tasks"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/tasks").session(managerSession)
+                        .contentType("application/json")
+                        .content("{\"title\":\"Versioned\",\"priority\":\"LOW\",\"scheduledDate\":\"2030-01-05T10:00:00\","
+                                + "\"assignedUserId\":" + managerSession.getAttribute("userId") + "}"))
+                .andExpect(status().isOk());
+
+        String afterCreate = mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, afterCreate);
+
+        Long pendingId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tasks WHERE status = 'PENDING'", Long.class);
+        mockMvc.perform(put("/api/tasks/{id}/reject", pendingId).session(managerSession))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", pendingId).header(HttpHeaders.IF_NONE_MATCH, afterCreate))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+    }
+
+    // Another node's write is found by the next sync and applied like this node's own
+    @Test
+    void testWritesThroughAnotherNodeAreSeenAfterSync() throws Exception {
+        String day = "2031-06-01T";
+        String etag = mockMvc.perform(get("/api/tasks"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/tasks/calendar").param("start", day + "00:00:00").param("end", day + "23:59:59"))
+                .andExpect(jsonPath("$.length()").value(0));
+        // Rows other tests loaded behind the application's back are applied first
+        changeVersion.sync();
+        long total = statistics.current().getTotal();
+
+        jdbcTemplate.update("INSERT INTO tasks (title, status, priority, priority_rank, assigned_user_id, created_by, "
+                + "created_date, scheduled_date) VALUES ('Written elsewhere', 'PENDING', 'LOW', 2, ?, ?, ?, ?)",
+                managerSession.getAttribute("userId"), managerSession.getAttribute("userId"),
+                LocalDateTime.now(), LocalDateTime.parse(day + "10:00:00"));
+        changeVersion.sync();
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/calendar").param("start", day + "00:00:00").param("end", day + "23:59:59"))
+                .andExpect(jsonPath("$[0].title").value("Written elsewhere"));
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(jsonPath("$.total").value(total + 1));
+    }
+}
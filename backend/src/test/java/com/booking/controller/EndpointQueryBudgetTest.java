@@ -0,0 +1,383 @@
+package com.booking.controller;
+
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.metrics.RequestSqlMetricsFilter;
+import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.service.TaskCalendarIndex;
+import com.booking.service.TaskEventFeed;
+import com.booking.service.TaskSearchIndex;
+import com.booking.service.TaskService;
+import com.booking.service.TaskStatistics;
+import com.booking.support.StatementRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Every REST endpoint runs within a fixed SQL statement budget whether there are 10 or 1,000 tasks,
+// so a query added per row fails here instead of in production
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // Keeps the outbox and cluster pollers' statements out of the recordings
+        "booking.notifications.poll-interval=PT1H",
+        "booking.cluster.sync-interval=PT1H"})
+@AutoConfigureMockMvc
+@Import(StatementRecorder.Config.class)
+class EndpointQueryBudgetTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 9, 0);
+    // Seeded tasks were created and decided in the past, where the cluster sync does not look for writes
+    private static final LocalDateTime WRITTEN = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @ParameterizedTest(name = "{0} tasks")
+    @ValueSource(ints = {10, 1000})
+    @interface WithTaskCounts {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskCalendarIndex calendarIndex;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskEventFeed eventFeed;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User manager;
+    private User user;
+    private MockHttpSession managerSession;
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.findByUsername("manager").orElseThrow();
+        user = userRepository.findByUsername("user").orElseThrow();
+        managerSession = session(manager);
+    }
+
+    // Auth
+
+    @WithTaskCounts
+    void testLogin(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"manager\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk()))
+                .assertAtMost(1, "POST /api/auth/login");
+    }
+
+    @WithTaskCounts
+    void testLogout(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(post("/api/auth/logout").session(session(user)))
+                .andExpect(status().isOk()))
+                .assertAtMost(0, "POST /api/auth/logout");
+    }
+
+    @WithTaskCounts
+    void testCurrentUser(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/auth/current-user").session(managerSession))
+                .andExpect(status().isOk()))
+                .assertAtMost(0, "GET /api/auth/current-user");
+    }
+
+    // Users
+
+    @WithTaskCounts
+    void testListUsers(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk()))
+                .assertAtMost(1, "GET /api/users");
+    }
+
+    @WithTaskCounts
+    void testGetUser(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/users/{id}", user.getId()))
+                .andExpect(status().isOk()))
+                .assertAtMost(1, "GET /api/users/{id}");
+    }
+
+    // Tasks
+
+    @WithTaskCounts
+    void testCreateTask(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        String request = "{\"title\":\"Budget\",\"priority\":\"HIGH\",\"scheduledDate\":\"2030-01-05T10:00:00\","
+                + "\"assignedUserId\":" + user.getId() + "}";
+
+        statementRecorder.record(() -> mockMvc.perform(post("/api/tasks").session(managerSession)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk()))
+                .assertAtMost(2, "POST /api/tasks");
+    }
+
+    @WithTaskCounts
+    void testListTasks(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(taskCount)))
+                .assertAtMost(2, "GET /api/tasks");
+    }
+
+    @WithTaskCounts
+    void testListFilteredTasks(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks")
+                        .param("status", "PENDING")
+                        .param("assignedUserId", user.getId().toString())
+                        .param("scheduledFrom", BASE.toString())
+                        .param("scheduledTo", BASE.plusDays(30).toString()))
+                .andExpect(status().isOk()))
+                .assertAtMost(2, "GET /api/tasks?status&assignedUserId&scheduledFrom&scheduledTo");
+    }
+
+    @WithTaskCounts
+    void testTaskPage(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(Math.min(50, taskCount))))
+                .assertAtMost(2, "GET /api/tasks?limit");
+    }
+
+    @WithTaskCounts
+    void testApprovalQueue(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks/approval-queue").param("limit", "50"))
+                .andExpect(status().isOk()))
+                .assertAtMost(2, "GET /api/tasks/approval-queue");
+    }
+
+    @WithTaskCounts
+    void testTaskStatistics(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(taskCount))
+                .andExpect(jsonPath("$.byStatus.PENDING").value((taskCount + 1) / 2)))
+                .assertAtMost(0, "GET /api/tasks/stats");
+    }
+
+    @WithTaskCounts
+    void testSearchTasks(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks/search").param("q", "budg task"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").value(taskCount))
+                .andExpect(jsonPath("$.tasks.length()").value(Math.min(taskCount, TaskService.DEFAULT_PAGE_SIZE))))
+                .assertAtMost(2, "GET /api/tasks/search");
+    }
+
+    @WithTaskCounts
+    void testGetTask(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        Long taskId = pendingTaskIds().get(0);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk()))
+                .assertAtMost(2, "GET /api/tasks/{id}");
+    }
+
+    @WithTaskCounts
+    void testApproveTask(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        Long taskId = pendingTaskIds().get(0);
+
+        statementRecorder.record(() -> mockMvc.perform(put("/api/tasks/{id}/approve", taskId).session(managerSession))
+                .andExpect(status().isOk()))
+                .assertAtMost(4, "PUT /api/tasks/{id}/approve");
+    }
+
+    @WithTaskCounts
+    void testRejectTask(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        Long taskId = pendingTaskIds().get(0);
+
+        statementRecorder.record(() -> mockMvc.perform(put("/api/tasks/{id}/reject", taskId).session(managerSession))
+                .andExpect(status().isOk()))
+                .assertAtMost(4, "PUT /api/tasks/{id}/reject");
+    }
+
+    @WithTaskCounts
+    void testBulkDecision(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        List<Long> taskIds = pendingTaskIds();
+        assertTrue(taskIds.size() <= TaskService.BULK_DECISION_CHUNK_SIZE);
+
+        statementRecorder.record(() -> mockMvc.perform(post("/api/tasks/decisions").session(managerSession)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskIds\":" + taskIds + ",\"decision\":\"APPROVE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(taskIds.size())))
+                .assertAtMost(4, "POST /api/tasks/decisions");
+    }
+
+    @WithTaskCounts
+    void testImportTasks(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        StringBuilder csv = new StringBuilder("title,description,priority,assignedUserId,scheduledDate\n");
+        for (int i = 0; i < taskCount; i++) {
+            csv.append("Imported ").append(i).append(",,MEDIUM,").append(user.getId()).append(",2030-02-01T09:00\n");
+        }
+        // One insert batch per 500 rows (booking.import.batch-size), each in its own transaction, and a single
+        // assignee lookup
+        int batches = (taskCount + 499) / 500;
+
+        statementRecorder.record(() -> mockMvc.perform(post("/api/tasks/import").session(managerSession)
+                        .contentType("text/csv")
+                        .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(taskCount)))
+                .assertAtMost(batches + 1, "POST /api/tasks/import");
+    }
+
+    @WithTaskCounts
+    void testCalendar(int taskCount) throws Exception {
+        seedTasks(taskCount);
+
+        statementRecorder.record(() -> mockMvc.perform(get("/api/tasks/calendar")
+                        .param("start", BASE.toString())
+                        .param("end", BASE.plusDays(31).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(taskCount)))
+                .assertAtMost(2, "GET /api/tasks/calendar");
+    }
+
+    @WithTaskCounts
+    void testExportCsv(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        // One query per full chunk, one for the final partial or empty chunk, and a single user name lookup
+        int budget = taskCount / TaskService.EXPORT_CHUNK_SIZE + 2;
+
+        DistributionSummary exports = meterRegistry.summary(RequestSqlMetricsFilter.REQUEST_STATEMENTS,
+                "method", "GET", "uri", "/api/tasks/export/csv");
+        long exportsBefore = exports.count();
+        double statementsBefore = exports.totalAmount();
+
+        StatementRecorder.Recording recording = statementRecorder.record(() -> {
+            MvcResult result = mockMvc.perform(get("/api/tasks/export/csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String csv = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertEquals(taskCount + 1, csv.lines().count());
+        });
+
+        recording.assertAtMost(budget, "GET /api/tasks/export/csv");
+        // The chunks are read on the async thread that writes the body, and still count toward the request
+        assertEquals(exportsBefore + 1, exports.count());
+        assertTrue(exports.totalAmount() - statementsBefore >= taskCount / TaskService.EXPORT_CHUNK_SIZE + 1);
+    }
+
+    @WithTaskCounts
+    void testSubscribeToTaskEvents(int taskCount) throws Exception {
+        seedTasks(taskCount);
+        int subscribers = eventFeed.subscriberCount();
+
+        // Subscribing only registers the connection; events are pushed from the writers' commits
+        statementRecorder.record(() -> {
+            MvcResult result = mockMvc.perform(get("/api/tasks/events").session(managerSession))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertEquals(subscribers + 1, eventFeed.subscriberCount());
+            result.getRequest().getAsyncContext().complete();
+        }).assertAtMost(0, "GET /api/tasks/events");
+
+        assertEquals(subscribers, eventFeed.subscriberCount());
+    }
+
+    private static MockHttpSession session(User user) {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("userId", user.getId());
+        session.setAttribute("userRole", user.getRole());
+        session.setAttribute(AuthenticatedUser.SESSION_ATTRIBUTE, AuthenticatedUser.of(user));
+        return session;
+    }
+
+    private List<Long> pendingTaskIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM tasks WHERE status = 'PENDING' ORDER BY id", Long.class);
+    }
+
+    // Replaces every task with exactly taskCount tasks, half of them pending, all scheduled in January 2030
+    private void seedTasks(int taskCount) {
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        jdbcTemplate.update("DELETE FROM tasks");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        List<Object[]> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task.Priority priority = Task.Priority.values()[i % Task.Priority.values().length];
+            Task.Status status = i % 2 == 0 ? Task.Status.PENDING : i % 4 == 1 ? Task.Status.APPROVED : Task.Status.REJECTED;
+            Long approvedBy = status == Task.Status.PENDING ? null : manager.getId();
+            tasks.add(new Object[]{"Budget task " + i, "Task " + i, status.name(), priority.name(), priority.getRank(),
+                    userIds.get(i % userIds.size()), userIds.get((i + 1) % userIds.size()), WRITTEN.minusMinutes(i),
+                    BASE.plusMinutes(i * 40L), approvedBy, approvedBy != null ? WRITTEN : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (title, description, status, priority, priority_rank, "
+                + "assigned_user_id, created_by, created_date, scheduled_date, approved_by, approval_date) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+        calendarIndex.clear();
+        taskStatistics.reset();
+        searchIndex.rebuild();
+    }
+}
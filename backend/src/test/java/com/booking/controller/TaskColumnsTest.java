@@ -0,0 +1,123 @@
+package com.booking.controller;
+
+import com.booking.dto.TaskColumns;
+import com.booking.support.StatementRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "booking.notifications.poll-interval=PT1H",
+        "booking.cluster.sync-interval=PT1H"})
+@AutoConfigureMockMvc
+@Import(StatementRecorder.Config.class)
+class TaskColumnsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testColumnsCarryTheSameTasksAsTheJsonList() throws Exception {
+        JsonNode list = read(mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse());
+
+        JsonNode columns = read(mockMvc.perform(get("/api/tasks").accept(TaskColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TaskColumns.MEDIA_TYPE))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse());
+
+        assertTrue(list.size() > 0);
+        assertEquals(list.size(), columns.get("count").asInt());
+        for (int i = 0; i < list.size(); i++) {
+            JsonNode task = list.get(i);
+            assertEquals(task.get("id").asLong(), columns.get("id").get(i).asLong());
+            assertEquals(task.get("title").asText(), columns.get("title").get(i).asText());
+            assertEquals(task.get("status").asText(), columns.get("status").get(i).asText());
+            assertEquals(epochMillis(task.get("scheduledDate")), columns.get("scheduledDate").get(i).asLong());
+            assertEquals(task.get("approvalDate").isNull(), columns.get("approvalDate").get(i).isNull());
+            String assignee = columns.get("assignedUserId").get(i).asText();
+            assertEquals(task.get("assignedUserName").asText(), columns.get("users").get(assignee).asText());
+        }
+        // One name per user referenced, however many tasks refer to them
+        Set<String> userIds = new HashSet<>();
+        for (JsonNode task : list) {
+            for (String field : new String[]{"assignedUserId", "createdBy", "approvedBy"}) {
+                if (!task.get(field).isNull()) {
+                    userIds.add(task.get(field).asText());
+                }
+            }
+        }
+        assertEquals(userIds.size(), columns.get("users").size());
+    }
+
+    @Test
+    void testEveryTaskListEndpointOffersColumns() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("limit", "2").accept(TaskColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.nextCursor").isString());
+
+        mockMvc.perform(get("/api/tasks/approval-queue").param("limit", "1").accept(TaskColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.status[0]").value("PENDING"));
+
+        mockMvc.perform(get("/api/tasks/calendar").accept(TaskColumns.MEDIA_TYPE)
+                        .param("start", "2000-01-01T00:00:00")
+                        .param("end", "2000-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TaskColumns.MEDIA_TYPE))
+                .andExpect(jsonPath("$.count").value(0));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "office").accept(TaskColumns.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalHits").isNumber())
+                .andExpect(jsonPath("$.title").isArray());
+    }
+
+    @Test
+    void testOtherResponsesAreLeftAlone() throws Exception {
+        mockMvc.perform(get("/api/tasks/stats").accept(TaskColumns.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").isNumber())
+                .andExpect(header().stringValues(HttpHeaders.VARY, not(hasItem(HttpHeaders.ACCEPT))));
+
+        mockMvc.perform(get("/api/tasks").param("status", "nonsense").accept(TaskColumns.MEDIA_TYPE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    private JsonNode read(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsString());
+    }
+
+    private static long epochMillis(JsonNode isoDateTime) {
+        return LocalDateTime.parse(isoDateTime.asText()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,129 @@
+package com.booking.controller;
+
+import com.booking.entity.User;
+import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.support.StatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "booking.notifications.poll-interval=PT1H",
+        "booking.cluster.sync-interval=PT1H"})
+@AutoConfigureMockMvc
+@Import(StatementRecorder.Config.class)
+class TaskImportTest {
+
+    private static final String CSV_HEADER = "title,description,priority,assignedUserId,scheduledDate\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User manager;
+    private User user;
+    private MockHttpSession managerSession;
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.findByUsername("manager").orElseThrow();
+        user = userRepository.findByUsername("user").orElseThrow();
+        managerSession = new MockHttpSession();
+        AuthenticatedUser.of(manager).storeIn(managerSession);
+    }
+
+    @Test
+    void testCsvImportInsertsInBatchesAndReportsBadRows() throws Exception {
+        int validRows = 1200;
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < validRows; i++) {
+            csv.append("Imported ").append(i).append(",,MEDIUM,")
+                    .append(i % 2 == 0 ? manager.getId() : user.getId()).append(",2030-02-01T09:00\n");
+            if (i == 10) {
+                csv.append(",no title,LOW,").append(user.getId()).append(",2030-02-01T09:00\n");
+                csv.append("Nobody,,LOW,999999,2030-02-01T09:00\n");
+                csv.append("x".repeat(256)).append(",,LOW,").append(user.getId()).append(",2030-02-01T09:00\n");
+            }
+        }
+        int before = taskCount();
+
+        StatementRecorder.Recording recording = statementRecorder.record(() -> mockMvc.perform(post("/api/tasks/import")
+                        .session(managerSession)
+                        .contentType("text/csv")
+                        .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(validRows))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(12))
+                .andExpect(jsonPath("$.errors[0].message").value("Title is required"))
+                .andExpect(jsonPath("$.errors[1].row").value(13))
+                .andExpect(jsonPath("$.errors[1].message").value("Assigned user 999999 does not exist"))
+                .andExpect(jsonPath("$.errors[2].row").value(14))
+                .andExpect(jsonPath("$.errors[2].message").value("Title must be at most 255 characters")));
+
+        assertEquals(before + validRows, taskCount());
+        assertEquals(validRows, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE title LIKE 'Imported %' AND created_by = ? AND status = 'PENDING' "
+                        + "AND priority_rank = 1", Integer.class, manager.getId()));
+        // One batch per 500 rows and a single assignee lookup
+        int batches = (validRows + 499) / 500;
+        recording.assertAtMost(batches + 1, "Import of " + validRows + " rows");
+    }
+
+    @Test
+    void testNdjsonImportedTasksAreServedLikeCreatedOnes() throws Exception {
+        String ndjson = "{\"title\":\"From NDJSON\",\"priority\":\"HIGH\",\"assignedUserId\":" + user.getId()
+                + ",\"scheduledDate\":\"2030-03-01T08:00:00\"}\n";
+
+        mockMvc.perform(post("/api/tasks/import").session(managerSession)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tasks WHERE title = 'From NDJSON'", Long.class);
+        mockMvc.perform(get("/api/tasks/calendar").session(managerSession)
+                        .param("start", "2030-03-01T00:00:00")
+                        .param("end", "2030-03-01T23:59:59"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].createdByName").value(manager.getName()));
+    }
+
+    @Test
+    void testImportRequiresLoginAndAUsableHeader() throws Exception {
+        mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content(CSV_HEADER))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/tasks/import").session(managerSession)
+                        .contentType("text/csv")
+                        .content("name,when\nA,tomorrow\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(
+                        "CSV header is missing columns: title, priority, assigneduserid, scheduleddate"));
+    }
+
+    private int taskCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// In token mode the existing session-based controllers work from the bearer token alone
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "booking.cluster.sync-interval=PT1H",
+        "spring.datasource.url=jdbc:h2:mem:token-auth",
+        "booking.auth.mode=token",
+        "booking.auth.token.secret=test-secret-test-secret-test-secret"})
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testLoginIssuesATokenWithoutCreatingASession() throws Exception {
+        MvcResult result = login("manager");
+
+        assertNotNull(token(result));
+        assertNull(result.getRequest().getSession(false));
+        assertEquals(0, result.getResponse().getCookies().length);
+    }
+
+    @Test
+    void testTokenAuthenticatesSessionBasedEndpoints() throws Exception {
+        JsonNode manager = objectMapper.readTree(login("manager").getResponse().getContentAsString());
+        String bearer = "Bearer " + manager.get("token").asText();
+
+        mockMvc.perform(get("/api/auth/current-user").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(manager.get("id").asLong()))
+                .andExpect(jsonPath("$.role").value("MANAGER"));
+
+        String created = mockMvc.perform(post("/api/tasks").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Token task\",\"priority\":\"LOW\",\"scheduledDate\":\"2030-01-05T10:00:00\","
+                                + "\"assignedUserId\":" + manager.get("id").asLong() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdBy").value(manager.get("id").asLong()))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(put("/api/tasks/{id}/approve", objectMapper.readTree(created).get("id").asLong())
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.approvedBy").value(manager.get("id").asLong()));
+    }
+
+    @Test
+    void testMissingOrInvalidTokenIsUnauthenticated() throws Exception {
+        mockMvc.perform(get("/api/auth/current-user"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/auth/current-user").header(HttpHeaders.AUTHORIZATION, "Bearer forged.token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MvcResult login(String username) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private String token(MvcResult result) throws Exception {
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.hasNonNull("token") ? body.get("token").asText() : null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.booking.datasource;
+
+import com.booking.dto.TaskRequest;
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import com.booking.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Two stand-alone H2 replicas, each holding one marker task the primary does not have, show which
+// database served each call
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "booking.notifications.poll-interval=PT1H",
+        "booking.cluster.sync-interval=PT1H",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "booking.datasource.replica.urls=" + ReadReplicaRoutingTest.REPLICA_A + "," + ReadReplicaRoutingTest.REPLICA_B,
+        "booking.datasource.replica.migrate=true",
+        "booking.datasource.replica.max-lag=PT0S"})
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_A = "jdbc:h2:mem:routing-replica-a;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_B = "jdbc:h2:mem:routing-replica-b;DB_CLOSE_DELAY=-1";
+    private static final LocalDateTime MARKER_DATE = LocalDateTime.of(2031, 3, 4, 10, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedReplicas() {
+        seedMarker(REPLICA_A, "replica-a");
+        seedMarker(REPLICA_B, "replica-b");
+    }
+
+    @Test
+    void testReadOnlyCallsAlternateBetweenReplicas() {
+        Set<String> servedBy = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            List<TaskResponse> tasks = taskService.getAllTasks();
+            assertEquals(1, tasks.size(), "a replica holds exactly one task");
+            servedBy.add(tasks.get(0).getTitle());
+        }
+
+        assertEquals(Set.of("replica-a", "replica-b"), servedBy);
+    }
+
+    @Test
+    void testWritesGoToThePrimary() {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Written to primary");
+        request.setPriority(Task.Priority.LOW);
+        request.setAssignedUserId(1L);
+        request.setScheduledDate(MARKER_DATE);
+
+        TaskResponse created = taskService.createTask(request, 1L);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ? AND title = ?",
+                Integer.class, created.getId(), "Written to primary"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE title LIKE 'replica-%'",
+                Integer.class));
+        // Without a lag window the replica that serves the read has not seen it
+        assertThrows(RuntimeException.class, () -> taskService.getTaskById(created.getId()));
+    }
+
+    @Test
+    void testCalendarMissesAreServedByReplicas() {
+        List<TaskResponse> tasks = taskService.getTasksByDateRange(MARKER_DATE.minusDays(1), MARKER_DATE.plusDays(1));
+
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).getTitle().startsWith("replica-"));
+    }
+
+    @Test
+    void testReadsStayOnThePrimaryWithinMaxLagOfAWrite() throws Exception {
+        DataSource primary = dataSourceWith(mock(Connection.class));
+        Connection replicaConnection = mock(Connection.class);
+        ReadReplicaRouting routing = new ReadReplicaRouting(primary, List.of(dataSourceWith(replicaConnection)),
+                Duration.ofMillis(200));
+
+        // Startup counts as a write
+        assertNotSame(replicaConnection, routing.readOnlyDataSource().getConnection());
+        Thread.sleep(250);
+        assertSame(replicaConnection, routing.readOnlyDataSource().getConnection());
+
+        routing.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, new TaskResponse()));
+        assertSame(primary.getConnection(), routing.readOnlyDataSource().getConnection());
+        Thread.sleep(250);
+        assertSame(replicaConnection, routing.readOnlyDataSource().getConnection());
+    }
+
+    private static void seedMarker(String url, String title) {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        replica.update("DELETE FROM tasks");
+        replica.update("INSERT INTO tasks (title, status, priority, priority_rank, assigned_user_id, created_by, "
+                + "created_date, scheduled_date) VALUES (?, 'PENDING', 'LOW', 3, 1, 1, ?, ?)",
+                title, MARKER_DATE.minusDays(7), MARKER_DATE);
+    }
+
+    private static DataSource dataSourceWith(Connection connection) throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
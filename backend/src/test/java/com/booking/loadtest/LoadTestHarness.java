@@ -0,0 +1,362 @@
+package com.booking.loadtest;
+
+import com.booking.BookingManagementApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator for the HTTP API. Each scenario has its own arrival rate that does not slow down when
+// the server does, and latency is measured from the scheduled arrival so queueing shows in the percentiles.
+// Not a unit test: run with
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.booking.loadtest.LoadTestHarness [key=value ...]
+// Keys (defaults in DEFAULTS): url (target a running app instead of starting one with a fresh seeded H2),
+// users, seedUsers, seedTasks, duration, warmup, arrivals (poisson|uniform) and rate.<scenario> in requests/second.
+// Any --argument is passed through to the in-process application.
+public class LoadTestHarness {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("url", "");
+        DEFAULTS.put("users", "50");
+        DEFAULTS.put("seedUsers", "200");
+        DEFAULTS.put("seedTasks", "100000");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("arrivals", "poisson");
+        DEFAULTS.put("rate.login", "2");
+        DEFAULTS.put("rate.list", "40");
+        DEFAULTS.put("rate.calendar", "10");
+        DEFAULTS.put("rate.create", "4");
+        DEFAULTS.put("rate.approve", "2");
+        DEFAULTS.put("rate.export", "0.1");
+    }
+
+    private static final String PASSWORD = "password123";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl;
+    private final List<Session> sessions = new ArrayList<>();
+    private final List<Session> managers = new ArrayList<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile long recordFrom;
+
+    private LoadTestHarness(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> config = new LinkedHashMap<>(DEFAULTS);
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+            } else {
+                String[] pair = arg.split("=", 2);
+                config.put(pair[0], pair[1]);
+            }
+        }
+
+        ConfigurableApplicationContext context = null;
+        String url = config.get("url");
+        if (url.isEmpty()) {
+            context = start(config, appArgs);
+            url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LoadTestHarness harness = new LoadTestHarness(url);
+            harness.logIn(Integer.parseInt(config.get("users")));
+            harness.run(config);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, String> config, List<String> appArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.booking=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.apache.catalina=ERROR",
+                "--booking.seed.users=" + config.get("seedUsers"),
+                "--booking.seed.tasks=" + config.get("seedTasks")));
+        args.addAll(appArgs);
+        System.out.printf("Starting the application with %s users and %s tasks...%n",
+                config.get("seedUsers"), config.get("seedTasks"));
+        return new SpringApplicationBuilder(BookingManagementApplication.class).run(args.toArray(String[]::new));
+    }
+
+    // Every session is a seeded user with its own cookie jar; every tenth seeded user is a manager
+    private void logIn(int users) throws Exception {
+        for (int i = 1; i <= users; i++) {
+            Session session = new Session("load-user-" + i, HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build());
+            HttpResponse<String> response = session.client.send(login(session), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + session.username + ": " + response.body());
+            }
+            JsonNode user = JSON.readTree(response.body());
+            session.userId = user.get("id").asLong();
+            sessions.add(session);
+            if ("MANAGER".equals(user.get("role").asText())) {
+                managers.add(session);
+            }
+        }
+        System.out.printf("Logged in %d sessions (%d managers) against %s%n", sessions.size(), managers.size(), baseUrl);
+    }
+
+    private void run(Map<String, String> config) throws Exception {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("login", this::loginScenario);
+        scenarios.put("list", this::listScenario);
+        scenarios.put("calendar", this::calendarScenario);
+        scenarios.put("create", this::createScenario);
+        scenarios.put("approve", this::approveScenario);
+        scenarios.put("export", this::exportScenario);
+
+        int duration = Integer.parseInt(config.get("duration"));
+        int warmup = Integer.parseInt(config.get("warmup"));
+        boolean poisson = config.get("arrivals").equals("poisson");
+        long start = System.nanoTime();
+        long end = start + (warmup + duration) * 1_000_000_000L;
+        recordFrom = start + warmup * 1_000_000_000L;
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService generators = Executors.newVirtualThreadPerTaskExecutor()) {
+            scenarios.forEach((name, scenario) -> {
+                double rate = Double.parseDouble(config.get("rate." + name));
+                if (rate <= 0 || (name.equals("approve") && managers.isEmpty())) {
+                    return;
+                }
+                generators.submit(() -> generate(scenario, rate, poisson, start, end, requests));
+            });
+            System.out.printf("Running %ds warm-up and %ds measurement...%n", warmup, duration);
+            generators.shutdown();
+            while (!generators.isTerminated()) {
+                Thread.sleep(100);
+            }
+        }
+        report(duration);
+    }
+
+    // Fires arrivals on schedule and never waits for responses, so a slow server cannot lower the offered load
+    private void generate(Scenario scenario, double rate, boolean poisson, long start, long end, ExecutorService requests) {
+        double meanGapNanos = 1_000_000_000L / rate;
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduled = next;
+            requests.submit(() -> {
+                try {
+                    scenario.run(randomSession(), scheduled);
+                } catch (Exception e) {
+                    // Transport failures are already recorded against their endpoint; this is anything else
+                    record("scenario error: " + e.getClass().getSimpleName(), scheduled, -1);
+                }
+            });
+            double gap = poisson ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos : meanGapNanos;
+            next += (long) gap;
+        }
+    }
+
+    private void loginScenario(Session session, long scheduled) throws Exception {
+        send("POST /api/auth/login", scheduled, session, login(session));
+    }
+
+    private void listScenario(Session session, long scheduled) throws Exception {
+        String filter = switch (ThreadLocalRandom.current().nextInt(4)) {
+            case 0 -> "&status=PENDING";
+            case 1 -> "&assignedUserId=" + session.userId;
+            default -> "";
+        };
+        send("GET /api/tasks", scheduled, session, get("/api/tasks?limit=50" + filter));
+    }
+
+    private void calendarScenario(Session session, long scheduled) throws Exception {
+        LocalDateTime month = LocalDateTime.now().withDayOfMonth(1).toLocalDate().atStartOfDay()
+                .plusMonths(ThreadLocalRandom.current().nextInt(-3, 4));
+        send("GET /api/tasks/calendar", scheduled, session, get("/api/tasks/calendar?start=" + ISO.format(month)
+                + "&end=" + ISO.format(month.plusMonths(1).minusSeconds(1))));
+    }
+
+    private void createScenario(Session session, long scheduled) throws Exception {
+        Session assignee = randomSession();
+        String body = JSON.writeValueAsString(Map.of(
+                "title", "Load test task",
+                "description", "Created by the load test harness",
+                "priority", List.of("LOW", "MEDIUM", "HIGH").get(ThreadLocalRandom.current().nextInt(3)),
+                "assignedUserId", assignee.userId,
+                "scheduledDate", ISO.format(LocalDateTime.now().plusDays(ThreadLocalRandom.current().nextInt(1, 60)))));
+        send("POST /api/tasks", scheduled, session, HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    // A manager opens the approval queue and decides one of the first tasks on it
+    private void approveScenario(Session ignored, long scheduled) throws Exception {
+        Session manager = managers.get(ThreadLocalRandom.current().nextInt(managers.size()));
+        HttpResponse<String> queue = send("GET /api/tasks/approval-queue", scheduled, manager,
+                get("/api/tasks/approval-queue?limit=20"));
+        if (queue == null || queue.statusCode() != 200) {
+            return;
+        }
+        JsonNode tasks = JSON.readTree(queue.body()).get("tasks");
+        if (tasks.isEmpty()) {
+            return;
+        }
+        long taskId = tasks.get(ThreadLocalRandom.current().nextInt(tasks.size())).get("id").asLong();
+        String decision = ThreadLocalRandom.current().nextInt(4) == 0 ? "reject" : "approve";
+        send("PUT /api/tasks/{id}/" + decision, System.nanoTime(), manager,
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + taskId + "/" + decision))
+                        .timeout(REQUEST_TIMEOUT)
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build());
+    }
+
+    private void exportScenario(Session session, long scheduled) throws Exception {
+        send("GET /api/tasks/export/csv", scheduled, session, get("/api/tasks/export/csv"),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpResponse<String> send(String label, long scheduled, Session session, HttpRequest request)
+            throws InterruptedException {
+        return send(label, scheduled, session, request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Records the outcome and returns null when the request failed in transport (timeout, reset connection)
+    private <T> HttpResponse<T> send(String label, long scheduled, Session session, HttpRequest request,
+                                     HttpResponse.BodyHandler<T> bodyHandler) throws InterruptedException {
+        try {
+            HttpResponse<T> response = session.client.send(request, bodyHandler);
+            record(label, scheduled, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            record(label, scheduled, -1);
+            return null;
+        }
+    }
+
+    private void record(String label, long scheduled, int status) {
+        if (scheduled < recordFrom) {
+            return;
+        }
+        stats.computeIfAbsent(label, key -> new Stats()).add(System.nanoTime() - scheduled, status);
+    }
+
+    private HttpRequest login(Session session) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + session.username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private Session randomSession() {
+        return sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+    }
+
+    private void report(int seconds) {
+        System.out.printf("%n%-32s %8s %8s %7s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "err %", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        new TreeMap<>(stats).forEach((label, endpoint) -> {
+            long[] latencies = endpoint.sortedLatencies();
+            System.out.printf("%-32s %8d %8.1f %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n", label, latencies.length,
+                    latencies.length / (double) seconds, 100.0 * endpoint.errors.get() / Math.max(1, latencies.length),
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), percentile(latencies, 1.0), new TreeMap<>(endpoint.statuses));
+        });
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(sorted.length * fraction);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        void run(Session session, long scheduled) throws Exception;
+    }
+
+    private static final class Session {
+        private final String username;
+        private final HttpClient client;
+        private volatile long userId;
+
+        private Session(String username, HttpClient client) {
+            this.username = username;
+            this.client = client;
+        }
+    }
+
+    // 409 is an expected outcome when two managers race for the same task, so it is not counted as an error
+    private static final class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+        private synchronized void add(long latency, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+            if (status < 200 || (status >= 300 && status != 409)) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.booking.metrics;
+
+import com.booking.config.MetricsConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementMetrics sqlMetrics = new SqlStatementMetrics(() -> registry);
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlmetrics;DB_CLOSE_DELAY=-1");
+        dataSource = sqlMetrics.wrap(h2);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists items (id bigint primary key, name varchar(50))");
+            statement.execute("delete from items");
+        }
+    }
+
+    @Test
+    void testStatementsAreTimedByType() throws SQLException {
+        insert(1);
+        insert(2);
+        count();
+
+        assertEquals(2, timer("insert").count());
+        assertEquals(1, timer("select").count());
+        assertEquals(1, timer("delete").count());
+        assertEquals(1, timer("other").count());
+    }
+
+    @Test
+    void testStatementsAreTalliedPerRequest() throws Exception {
+        insert(1);
+        RequestSqlMetricsFilter filter = new RequestSqlMetricsFilter(sqlMetrics, registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/tasks/{id}");
+            try {
+                count();
+                count();
+                insert(2);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        insert(3);
+
+        DistributionSummary statements = registry.get(RequestSqlMetricsFilter.REQUEST_STATEMENTS)
+                .tags("method", "GET", "uri", "/api/tasks/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(3, statements.totalAmount());
+        Timer time = registry.get(RequestSqlMetricsFilter.REQUEST_TIME).tags("uri", "/api/tasks/{id}").timer();
+        assertEquals(1, time.count());
+        assertTrue(time.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(3, timer("insert").count());
+    }
+
+    // The post-processor must not hide the pool's close() from the container
+    @Test
+    void testWrappedPoolIsClosedWithTheContext() throws SQLException {
+        HikariDataSource pool;
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(PoolConfig.class)) {
+            DataSource bean = context.getBean(DataSource.class);
+            assertFalse(bean instanceof HikariDataSource);
+            pool = bean.unwrap(HikariDataSource.class);
+            try (Connection connection = bean.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+            assertFalse(pool.isClosed());
+        }
+        assertTrue(pool.isClosed());
+    }
+
+    @Configuration
+    static class PoolConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        static SqlStatementMetrics sqlStatementMetrics(ObjectProvider<MeterRegistry> registry) {
+            return MetricsConfig.sqlStatementMetrics(registry);
+        }
+
+        @Bean
+        static BeanPostProcessor sqlMetricsDataSourcePostProcessor(ObjectProvider<SqlStatementMetrics> sqlMetrics) {
+            return MetricsConfig.sqlMetricsDataSourcePostProcessor(sqlMetrics);
+        }
+
+        @Bean
+        DataSource dataSource() {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl("jdbc:h2:mem:sqlmetrics-pool");
+            return pool;
+        }
+    }
+
+    private Timer timer(String type) {
+        return registry.get(SqlStatementMetrics.STATEMENTS).tag("type", type).timer();
+    }
+
+    private void insert(long id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("insert into items (id, name) values (?, ?)")) {
+            insert.setLong(1, id);
+            insert.setString(2, "Item " + id);
+            insert.executeUpdate();
+        }
+    }
+
+    private void count() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select count(*) from items");
+             ResultSet resultSet = select.executeQuery()) {
+            resultSet.next();
+        }
+    }
+}
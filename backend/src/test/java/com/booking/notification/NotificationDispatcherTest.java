@@ -0,0 +1,225 @@
+package com.booking.notification;
+
+import com.booking.entity.OutboxNotification;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.repository.OutboxNotificationRepository;
+import com.booking.repository.TaskRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.support.InMemoryNotificationSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "booking.notifications.batch-size=50",
+        "booking.notifications.max-attempts=3",
+        "booking.notifications.initial-backoff=PT2S"
+})
+@Import({NotificationOutbox.class, NotificationDispatcher.class, NotificationDispatcherTest.Config.class})
+class NotificationDispatcherTest {
+
+    private static final AuthenticatedUser MANAGER = new AuthenticatedUser(7L, "Manager User", User.Role.MANAGER);
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        InMemoryNotificationSink inMemoryNotificationSink() {
+            return new InMemoryNotificationSink();
+        }
+    }
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private OutboxNotificationRepository outboxRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private InMemoryNotificationSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        sink.clear();
+    }
+
+    @Test
+    void testEnqueuedDecisionsAreDeliveredInBatchesAndRemoved() {
+        notificationOutbox.enqueueDecisions(decidedTasks(120), MANAGER);
+
+        dispatcher.dispatchPending();
+
+        assertEquals(120, sink.delivered().size());
+        assertEquals(0, outboxRepository.count());
+        OutboxNotification first = sink.delivered().get(0);
+        assertEquals(Task.Status.APPROVED, first.getDecision());
+        assertEquals("Manager User", first.getActorName());
+        assertEquals(User.Role.MANAGER, first.getActorRole());
+    }
+
+    @Test
+    void testDeliveriesRunConcurrently() {
+        notificationOutbox.enqueueDecisions(decidedTasks(50), MANAGER);
+        sink.delayEachDelivery(100);
+
+        long start = System.nanoTime();
+        dispatcher.dispatchBatch();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(50, sink.delivered().size());
+        // Fifty sequential 100ms deliveries would take five seconds
+        assertTrue(elapsedMillis < 2_000, "Batch took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testFailedDeliveriesAreRetriedWithBackoff() {
+        notificationOutbox.enqueueDecisions(decidedTasks(1), MANAGER);
+        sink.failNext(1);
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchPending();
+
+        OutboxNotification pending = reloadOnlyNotification();
+        assertEquals(1, pending.getAttempts());
+        assertTrue(pending.getLastError().contains("Injected delivery failure"));
+        assertFalse(pending.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+        assertNull(pending.getClaimedBy());
+        assertNull(pending.getClaimedUntil());
+        assertTrue(sink.delivered().isEmpty());
+
+        // Not due yet, so nothing is attempted
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        makeDue(pending);
+        dispatcher.dispatchPending();
+
+        assertEquals(1, sink.delivered().size());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void testDeliveryIsAbandonedAfterMaxAttempts() {
+        notificationOutbox.enqueueDecisions(decidedTasks(1), MANAGER);
+        sink.failNext(10);
+
+        LocalDateTime previousAttempt = LocalDateTime.now();
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            dispatcher.dispatchPending();
+            OutboxNotification pending = reloadOnlyNotification();
+            assertEquals(attempt, pending.getAttempts());
+            if (attempt < 3) {
+                // Backoff doubles each time: 2s, 4s
+                assertFalse(pending.getNextAttemptAt().isBefore(previousAttempt.plusSeconds(2L << (attempt - 1))));
+                makeDue(pending);
+            } else {
+                assertNull(pending.getNextAttemptAt());
+            }
+        }
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        assertTrue(sink.delivered().isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testTwoDispatchersShareTheOutboxWithoutDuplicates() throws Exception {
+        // Committed rows, so that both dispatchers see them from their own threads as two nodes would
+        outboxRepository.saveAll(pendingNotifications(200));
+        sink.delayEachDelivery(20);
+        NotificationDispatcher otherNode = new NotificationDispatcher(outboxRepository, jdbcTemplate, sink, 50, 3,
+                Duration.ofSeconds(2), Duration.ofMinutes(10), Duration.ofSeconds(10));
+        ExecutorService nodes = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> runs = List.of(nodes.submit(dispatcher::dispatchPending),
+                    nodes.submit(otherNode::dispatchPending));
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+
+            List<Long> deliveredIds = sink.delivered().stream().map(OutboxNotification::getId).toList();
+            assertEquals(200, deliveredIds.size());
+            assertEquals(200, new HashSet<>(deliveredIds).size());
+            assertEquals(0, outboxRepository.count());
+        } finally {
+            nodes.shutdownNow();
+            otherNode.shutdown();
+            outboxRepository.deleteAll();
+        }
+    }
+
+    // The dispatcher reschedules failed rows with plain JDBC, behind the test transaction's persistence context
+    private OutboxNotification reloadOnlyNotification() {
+        entityManager.clear();
+        return outboxRepository.findAll().get(0);
+    }
+
+    private void makeDue(OutboxNotification notification) {
+        notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.saveAndFlush(notification);
+    }
+
+    private List<OutboxNotification> pendingNotifications(int count) {
+        List<OutboxNotification> notifications = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            OutboxNotification notification = new OutboxNotification();
+            notification.setTaskId((long) i + 1);
+            notification.setTaskTitle("Task " + i);
+            notification.setDecision(Task.Status.APPROVED);
+            notification.setActorName(MANAGER.name());
+            notification.setActorRole(MANAGER.role());
+            notification.setNextAttemptAt(now);
+            notification.setCreatedDate(now);
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    private List<Task> decidedTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.LOW);
+            task.setStatus(Task.Status.APPROVED);
+            task.setAssignedUserId(1L);
+            task.setCreatedBy(1L);
+            task.setScheduledDate(LocalDateTime.now().plusDays(1));
+            task.setApprovedBy(MANAGER.id());
+            task.setApprovalDate(LocalDateTime.now());
+            tasks.add(task);
+        }
+        return taskRepository.saveAll(tasks);
+    }
+}
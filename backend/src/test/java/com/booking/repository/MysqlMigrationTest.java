@@ -0,0 +1,129 @@
+package com.booking.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the MySQL migrations the way the mysql profile does (baseline-on-migrate below V1) on H2 in MySQL mode,
+// against an empty database and against the schemas ddl-auto=update left behind before Flyway took over
+class MysqlMigrationTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    // Tables as ddl-auto created them before tasks had priority_rank
+    private static final String[] BEFORE_PRIORITY_RANK = {
+            "CREATE TABLE users (id BIGINT NOT NULL AUTO_INCREMENT, username VARCHAR(255) NOT NULL UNIQUE, "
+                    + "password VARCHAR(255) NOT NULL, name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL, "
+                    + "role ENUM('ADMIN','MANAGER','USER') NOT NULL, PRIMARY KEY (id)) ENGINE=InnoDB",
+            "CREATE TABLE tasks (id BIGINT NOT NULL AUTO_INCREMENT, title VARCHAR(255) NOT NULL, "
+                    + "description VARCHAR(1000), status ENUM('PENDING','APPROVED','REJECTED') NOT NULL, "
+                    + "priority ENUM('LOW','MEDIUM','HIGH') NOT NULL, assigned_user_id BIGINT NOT NULL, "
+                    + "created_by BIGINT NOT NULL, created_date DATETIME(6) NOT NULL, "
+                    + "scheduled_date DATETIME(6) NOT NULL, approved_by BIGINT, approval_date DATETIME(6), "
+                    + "PRIMARY KEY (id)) ENGINE=InnoDB",
+            "INSERT INTO tasks (title, status, priority, assigned_user_id, created_by, created_date, scheduled_date) "
+                    + "VALUES ('High', 'PENDING', 'HIGH', 1, 1, NOW(), NOW()), "
+                    + "('Medium', 'PENDING', 'MEDIUM', 1, 1, NOW(), NOW()), "
+                    + "('Low', 'PENDING', 'LOW', 1, 1, NOW(), NOW())"};
+
+    // Added by ddl-auto once the entity gained priorityRank and declared its indexes
+    private static final String[] WITH_ENTITY_INDEXES = {
+            "ALTER TABLE tasks ADD COLUMN priority_rank INT NOT NULL DEFAULT 0",
+            "CREATE INDEX idx_tasks_created ON tasks (created_date, id)",
+            "CREATE INDEX idx_tasks_status_created ON tasks (status, created_date, id)",
+            "CREATE INDEX idx_tasks_priority_created ON tasks (priority, created_date, id)",
+            "CREATE INDEX idx_tasks_assignee_created ON tasks (assigned_user_id, created_date, id)",
+            "CREATE INDEX idx_tasks_creator_created ON tasks (created_by, created_date, id)",
+            "CREATE INDEX idx_tasks_scheduled ON tasks (scheduled_date)",
+            "CREATE INDEX idx_tasks_approval_queue ON tasks (status, priority_rank, scheduled_date, id)"};
+
+    @Test
+    void testMigratesAnEmptyDatabase() throws Exception {
+        String url = newDatabase();
+
+        migrate(url);
+
+        assertMigrated(url, Map.of());
+    }
+
+    @Test
+    void testMigratesASchemaCreatedBeforePriorityRank() throws Exception {
+        String url = newDatabase();
+        execute(url, BEFORE_PRIORITY_RANK);
+
+        migrate(url);
+
+        assertMigrated(url, Map.of("High", 0, "Medium", 1, "Low", 2));
+    }
+
+    @Test
+    void testMigratesASchemaThatAlreadyHasTheEntityIndexes() throws Exception {
+        String url = newDatabase();
+        execute(url, BEFORE_PRIORITY_RANK);
+        execute(url, WITH_ENTITY_INDEXES);
+
+        migrate(url);
+
+        assertMigrated(url, Map.of("High", 0, "Medium", 1, "Low", 2));
+    }
+
+    private static String newDatabase() {
+        return "jdbc:h2:mem:mysql-migration-" + DATABASES.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    private static void migrate(String url) {
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration/mysql")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private static void assertMigrated(String url, Map<String, Integer> expectedRanks) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            Set<String> indexes = new HashSet<>();
+            try (ResultSet rows = statement.executeQuery("SELECT index_name FROM information_schema.indexes")) {
+                while (rows.next()) {
+                    indexes.add(rows.getString(1).toLowerCase());
+                }
+            }
+            for (String index : new String[]{"idx_tasks_created", "idx_tasks_status_created",
+                    "idx_tasks_priority_created", "idx_tasks_assignee_created", "idx_tasks_creator_created",
+                    "idx_tasks_scheduled", "idx_tasks_approval_queue", "idx_users_role", "idx_outbox_due"}) {
+                assertTrue(indexes.contains(index), index + " missing from " + indexes);
+            }
+
+            Map<String, Integer> ranks = new HashMap<>();
+            try (ResultSet rows = statement.executeQuery("SELECT title, priority_rank FROM tasks")) {
+                while (rows.next()) {
+                    ranks.put(rows.getString(1), rows.getInt(2));
+                }
+            }
+            assertEquals(expectedRanks, ranks);
+        }
+    }
+
+    private static void execute(String url, String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
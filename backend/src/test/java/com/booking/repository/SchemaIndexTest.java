@@ -0,0 +1,126 @@
+package com.booking.repository;
+
+import com.booking.entity.OutboxNotification;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every repository finder must be able to seek on an index created by the Flyway migrations
+@DataJpaTest
+class SchemaIndexTest {
+
+    // Column prefixes the hand-written @Query finders filter and sort on
+    private static final Map<String, List<String>> QUERY_METHOD_COLUMNS = Map.of(
+            "findPageAfter", List.of("created_date", "id"),
+            "findQueuePageAfter", List.of("status", "priority_rank", "scheduled_date", "id"),
+            "findNamesByIdIn", List.of("id"),
+            "findAllByIdInAndStatus", List.of("id"),
+            "decideAll", List.of("id"),
+            "updatePassword", List.of("id"),
+            "findDue", List.of("next_attempt_at", "id"),
+            "claim", List.of("id"),
+            "findClaimed", List.of("claimed_by", "id"));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testTaskFindersAreIndexBacked() throws Exception {
+        assertFindersIndexed(TaskRepository.class, Task.class, "TASKS");
+    }
+
+    @Test
+    void testUserFindersAreIndexBacked() throws Exception {
+        assertFindersIndexed(UserRepository.class, User.class, "USERS");
+    }
+
+    @Test
+    void testOutboxFindersAreIndexBacked() throws Exception {
+        assertFindersIndexed(OutboxNotificationRepository.class, OutboxNotification.class, "NOTIFICATION_OUTBOX");
+    }
+
+    @Test
+    void testExpectedTaskIndexesExist() throws Exception {
+        Map<String, List<String>> indexes = indexes("TASKS");
+
+        assertEquals(List.of("created_date", "id"), indexes.get("idx_tasks_created"));
+        assertEquals(List.of("status", "created_date", "id"), indexes.get("idx_tasks_status_created"));
+        assertEquals(List.of("priority", "created_date", "id"), indexes.get("idx_tasks_priority_created"));
+        assertEquals(List.of("assigned_user_id", "created_date", "id"), indexes.get("idx_tasks_assignee_created"));
+        assertEquals(List.of("created_by", "created_date", "id"), indexes.get("idx_tasks_creator_created"));
+        assertEquals(List.of("scheduled_date"), indexes.get("idx_tasks_scheduled"));
+        assertEquals(List.of("status", "priority_rank", "scheduled_date", "id"), indexes.get("idx_tasks_approval_queue"));
+    }
+
+    private void assertFindersIndexed(Class<?> repository, Class<?> domainClass, String table) throws Exception {
+        Map<String, List<String>> indexes = indexes(table);
+
+        for (Method method : repository.getDeclaredMethods()) {
+            List<String> columns;
+            if (method.isAnnotationPresent(Query.class)) {
+                columns = QUERY_METHOD_COLUMNS.get(method.getName());
+                assertNotNull(columns, "Add the columns used by @Query method " + method.getName() + " to this test");
+            } else {
+                columns = derivedQueryColumns(method.getName(), domainClass);
+            }
+
+            boolean covered = indexes.values().stream().anyMatch(index -> startsWith(index, columns));
+            assertTrue(covered, method.getName() + " needs an index starting with " + columns + "; have " + indexes);
+        }
+    }
+
+    // Criteria columns in declaration order followed by the sort columns, as a derived finder would seek them
+    private static List<String> derivedQueryColumns(String methodName, Class<?> domainClass) {
+        PartTree tree = new PartTree(methodName, domainClass);
+        List<String> columns = new ArrayList<>();
+        for (Part part : tree.getParts()) {
+            columns.add(column(part.getProperty().getSegment()));
+        }
+        for (Sort.Order order : tree.getSort()) {
+            columns.add(column(order.getProperty()));
+        }
+        return columns;
+    }
+
+    private Map<String, List<String>> indexes(String table) throws Exception {
+        Map<String, TreeMap<Short, String>> positions = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet resultSet = metaData.getIndexInfo(null, "PUBLIC", table, false, false)) {
+                while (resultSet.next()) {
+                    positions.computeIfAbsent(resultSet.getString("INDEX_NAME").toLowerCase(), name -> new TreeMap<>())
+                            .put(resultSet.getShort("ORDINAL_POSITION"), resultSet.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+        }
+
+        Map<String, List<String>> indexes = new TreeMap<>();
+        positions.forEach((name, columns) -> indexes.put(name, List.copyOf(columns.values())));
+        return indexes;
+    }
+
+    private static boolean startsWith(List<String> index, List<String> columns) {
+        return index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns);
+    }
+
+    private static String column(String property) {
+        return property.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
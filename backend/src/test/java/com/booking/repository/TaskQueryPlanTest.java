@@ -0,0 +1,126 @@
+package com.booking.repository;
+
+import com.booking.dto.TaskQuery;
+import com.booking.entity.Task;
+import com.booking.notification.NotificationOutbox;
+import com.booking.service.TaskCalendarIndex;
+import com.booking.service.TaskSearchIndex;
+import com.booking.service.TaskService;
+import com.booking.support.StatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TaskService.class, TaskCalendarIndex.class, TaskSearchIndex.class, NotificationOutbox.class, StatementRecorder.Config.class})
+class TaskQueryPlanTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 600; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.values()[i % 3]);
+            task.setStatus(Task.Status.values()[i % 3]);
+            task.setAssignedUserId((long) (i % 25));
+            task.setCreatedBy((long) (i % 40));
+            task.setCreatedDate(BASE.plusHours(i));
+            task.setScheduledDate(BASE.plusDays(i % 90));
+            taskRepository.save(task);
+        }
+        taskRepository.flush();
+    }
+
+    @Test
+    void testSingleFiltersUseTheirIndex() throws Exception {
+        TaskQuery byStatus = new TaskQuery();
+        byStatus.setStatus(Task.Status.PENDING);
+        assertPlanUses(byStatus, "IDX_TASKS_STATUS_CREATED");
+
+        TaskQuery byPriority = new TaskQuery();
+        byPriority.setPriority(Task.Priority.HIGH);
+        assertPlanUses(byPriority, "IDX_TASKS_PRIORITY_CREATED");
+
+        TaskQuery byAssignee = new TaskQuery();
+        byAssignee.setAssignedUserId(3L);
+        assertPlanUses(byAssignee, "IDX_TASKS_ASSIGNEE_CREATED");
+
+        TaskQuery byCreator = new TaskQuery();
+        byCreator.setCreatedBy(7L);
+        assertPlanUses(byCreator, "IDX_TASKS_CREATOR_CREATED");
+
+        TaskQuery byScheduled = new TaskQuery();
+        byScheduled.setScheduledFrom(BASE.plusDays(10));
+        byScheduled.setScheduledTo(BASE.plusDays(12));
+        assertPlanUses(byScheduled, "IDX_TASKS_SCHEDULED");
+
+        assertPlanUses(new TaskQuery(), "IDX_TASKS_CREATED");
+    }
+
+    @Test
+    void testEveryFilterCombinationIsIndexBacked() throws Exception {
+        for (int mask = 0; mask < 64; mask++) {
+            TaskQuery query = new TaskQuery();
+            if ((mask & 1) != 0) {
+                query.setStatus(Task.Status.APPROVED);
+            }
+            if ((mask & 2) != 0) {
+                query.setPriority(Task.Priority.LOW);
+            }
+            if ((mask & 4) != 0) {
+                query.setAssignedUserId(4L);
+            }
+            if ((mask & 8) != 0) {
+                query.setCreatedBy(9L);
+            }
+            if ((mask & 16) != 0) {
+                query.setScheduledFrom(BASE.plusDays(5));
+                query.setScheduledTo(BASE.plusDays(20));
+            }
+            if ((mask & 32) != 0) {
+                query.setCreatedFrom(BASE.plusDays(3));
+                query.setCreatedTo(BASE.plusDays(9));
+            }
+
+            String plan = explainSearch(query);
+            assertTrue(plan.contains("PUBLIC.IDX_TASKS_"), "No index used for " + query + ":\n" + plan);
+            assertFalse(plan.contains("tableScan"), "Table scan for " + query + ":\n" + plan);
+        }
+    }
+
+    private void assertPlanUses(TaskQuery query, String index) throws Exception {
+        String plan = explainSearch(query);
+        assertTrue(plan.contains("PUBLIC." + index), "Expected " + index + " for " + query + ":\n" + plan);
+    }
+
+    // Runs the paged search, then asks H2 to explain the exact statement Hibernate sent with the same bind values
+    private String explainSearch(TaskQuery query) throws Exception {
+        statementRecorder.clear();
+        taskService.searchTaskPage(query, null, 20);
+
+        List<StatementRecorder.RecordedStatement> taskQueries = statementRecorder.statementsContaining("from tasks");
+        assertEquals(1, taskQueries.size());
+        return StatementRecorder.explain(dataSource, taskQueries.get(0));
+    }
+}
@@ -0,0 +1,63 @@
+package com.booking.security;
+
+import com.booking.entity.User;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2024-05-01T09:00:00Z");
+
+    private final AuthenticatedUser manager = new AuthenticatedUser(7L, "Manager | Ops", User.Role.MANAGER);
+
+    @Test
+    void testIssuedTokenCarriesThePrincipal() {
+        AuthTokenService tokens = service(SECRET, NOW);
+
+        assertEquals(manager, tokens.verify(tokens.issue(manager)).orElseThrow());
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        AuthTokenService tokens = service(SECRET, NOW);
+        String token = tokens.issue(manager);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("7|ADMIN|" + NOW.plusSeconds(3600).getEpochSecond() + "|Manager").getBytes());
+
+        assertTrue(tokens.verify(forgedPayload + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(tokens.verify(token.substring(0, token.length() - 2)).isEmpty());
+        assertTrue(tokens.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void testTokenFromAnotherSecretIsRejected() {
+        String token = service("another-secret-another-secret-xx", NOW).issue(manager);
+
+        assertTrue(service(SECRET, NOW).verify(token).isEmpty());
+    }
+
+    @Test
+    void testTokenExpires() {
+        String token = service(SECRET, NOW).issue(manager);
+
+        assertTrue(service(SECRET, NOW.plus(Duration.ofHours(8)).minusSeconds(1)).verify(token).isPresent());
+        assertTrue(service(SECRET, NOW.plus(Duration.ofHours(8))).verify(token).isEmpty());
+    }
+
+    @Test
+    void testTokenModeRequiresAStrongSecret() {
+        assertThrows(IllegalStateException.class, () -> service("short", NOW));
+        assertFalse(new AuthTokenService("session", "", Duration.ofHours(8)).isEnabled());
+    }
+
+    private static AuthTokenService service(String secret, Instant now) {
+        return new AuthTokenService(true, secret, Duration.ofHours(8), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
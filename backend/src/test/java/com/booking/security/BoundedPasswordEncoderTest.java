@@ -0,0 +1,81 @@
+package com.booking.security;
+
+import com.booking.exception.PasswordCheckRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    // Stands in for a slow hash: blocks until the test releases it
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void testDelegatesToTheWrappedEncoder() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x").replace("$04$", "$03$")));
+    }
+
+    @Test
+    void testRejectsImmediatelyWhenThreadsAndQueueAreFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(30));
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        Thread.sleep(100);
+
+        long start = System.nanoTime();
+        assertThrows(PasswordCheckRejectedException.class, () -> encoder.matches("c", "c"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testGivesUpAfterTheTimeout() {
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofMillis(100));
+
+        assertThrows(PasswordCheckRejectedException.class, () -> encoder.matches("a", "a"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.booking.service;
+
+import com.booking.dto.TaskPage;
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.notification.NotificationOutbox;
+import com.booking.repository.TaskRepository;
+import com.booking.support.StatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TaskService.class, TaskCalendarIndex.class, TaskSearchIndex.class, NotificationOutbox.class, StatementRecorder.Config.class})
+class ApprovalQueueTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 1, 8, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 90; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.values()[i % 3]);
+            task.setStatus(i % 5 == 0 ? Task.Status.APPROVED : Task.Status.PENDING);
+            task.setAssignedUserId(1L);
+            task.setCreatedBy(1L);
+            task.setCreatedDate(BASE.minusDays(i));
+            // Repeated scheduled dates exercise the id tie-breaker
+            task.setScheduledDate(BASE.plusDays(i % 7));
+            taskRepository.save(task);
+        }
+        taskRepository.flush();
+    }
+
+    @Test
+    void testPriorityRankSortsHighestFirst() {
+        assertTrue(Task.Priority.HIGH.getRank() < Task.Priority.MEDIUM.getRank());
+        assertTrue(Task.Priority.MEDIUM.getRank() < Task.Priority.LOW.getRank());
+
+        Task task = new Task();
+        task.setPriority(Task.Priority.LOW);
+        assertEquals(Task.Priority.LOW.getRank(), task.getPriorityRank());
+    }
+
+    @Test
+    void testQueueIsPagedInTruePriorityOrder() {
+        List<TaskResponse> queue = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = taskService.getApprovalQueue(cursor, 8);
+            assertTrue(page.getTasks().size() <= 8);
+            queue.addAll(page.getTasks());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(72, queue.size());
+        assertTrue(queue.stream().allMatch(task -> task.getStatus() == Task.Status.PENDING));
+        for (int i = 1; i < queue.size(); i++) {
+            TaskResponse previous = queue.get(i - 1);
+            TaskResponse current = queue.get(i);
+            int byRank = Integer.compare(previous.getPriority().getRank(), current.getPriority().getRank());
+            int bySchedule = previous.getScheduledDate().compareTo(current.getScheduledDate());
+            assertTrue(byRank < 0
+                    || (byRank == 0 && bySchedule < 0)
+                    || (byRank == 0 && bySchedule == 0 && previous.getId() < current.getId()));
+        }
+        assertEquals(Task.Priority.HIGH, queue.get(0).getPriority());
+        assertEquals(Task.Priority.LOW, queue.get(queue.size() - 1).getPriority());
+    }
+
+    @Test
+    void testQueuePagesSeekOnTheApprovalQueueIndex() throws Exception {
+        TaskPage first = taskService.getApprovalQueue(null, 10);
+        statementRecorder.clear();
+        taskService.getApprovalQueue(first.getNextCursor(), 10);
+
+        List<StatementRecorder.RecordedStatement> queries = statementRecorder.statementsContaining("from tasks");
+        assertEquals(1, queries.size());
+        String plan = StatementRecorder.explain(dataSource, queries.get(0));
+        assertTrue(plan.contains("PUBLIC.IDX_TASKS_APPROVAL_QUEUE"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
@@ -0,0 +1,145 @@
+package com.booking.service;
+
+import com.booking.dto.BulkDecisionResponse;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.notification.NotificationOutbox;
+import com.booking.repository.TaskRepository;
+import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.support.StatementRecorder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TaskService.class, TaskCalendarIndex.class, TaskSearchIndex.class, NotificationOutbox.class, StatementRecorder.Config.class})
+class BulkDecisionTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User manager;
+    private User regularUser;
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.save(user("manager", User.Role.MANAGER));
+        regularUser = userRepository.save(user("user", User.Role.USER));
+    }
+
+    @Test
+    void testPendingTasksAreDecidedAndOthersReported() {
+        List<Long> pending = seedTasks(3, Task.Status.PENDING);
+        List<Long> approved = seedTasks(2, Task.Status.APPROVED);
+        List<Long> ids = new ArrayList<>(pending);
+        ids.addAll(approved);
+        ids.add(999_999L);
+
+        BulkDecisionResponse response = taskService.decideTasks(ids, Task.Status.REJECTED, AuthenticatedUser.of(manager));
+
+        assertEquals(3, response.getApplied());
+        Map<Long, BulkDecisionResponse.Result> results = response.getResults().stream()
+                .collect(Collectors.toMap(BulkDecisionResponse.Result::getTaskId, Function.identity()));
+        pending.forEach(id -> assertEquals(BulkDecisionResponse.Outcome.APPLIED, results.get(id).getOutcome()));
+        approved.forEach(id -> {
+            assertEquals(BulkDecisionResponse.Outcome.ALREADY_DECIDED, results.get(id).getOutcome());
+            assertEquals(Task.Status.APPROVED, results.get(id).getStatus());
+        });
+        assertEquals(BulkDecisionResponse.Outcome.NOT_FOUND, results.get(999_999L).getOutcome());
+        assertEquals(ids, response.getResults().stream().map(BulkDecisionResponse.Result::getTaskId).toList());
+
+        taskRepository.findAllById(pending).forEach(task -> {
+            assertEquals(Task.Status.REJECTED, task.getStatus());
+            assertEquals(manager.getId(), task.getApprovedBy());
+            assertNotNull(task.getApprovalDate());
+        });
+    }
+
+    @Test
+    void testOneUpdatePerChunk() {
+        int count = TaskService.BULK_DECISION_CHUNK_SIZE * 2 + 10;
+        List<Long> ids = seedTasks(count, Task.Status.PENDING);
+        entityManager.clear();
+        statementRecorder.clear();
+
+        BulkDecisionResponse response = taskService.decideTasks(ids, Task.Status.APPROVED, AuthenticatedUser.of(manager));
+
+        assertEquals(count, response.getApplied());
+        assertEquals(3, statementRecorder.statementsContaining("update tasks").size());
+        // One locking read per chunk and a single name lookup for the decided tasks; the approver is never loaded
+        assertEquals(4, statementRecorder.statementsContaining("select").size());
+        assertEquals(3, statementRecorder.statementsContaining("for update").size());
+    }
+
+    @Test
+    void testDuplicateIdsAreDecidedOnce() {
+        List<Long> ids = seedTasks(1, Task.Status.PENDING);
+
+        BulkDecisionResponse response = taskService.decideTasks(
+                List.of(ids.get(0), ids.get(0)), Task.Status.APPROVED, AuthenticatedUser.of(manager));
+
+        assertEquals(1, response.getApplied());
+        assertEquals(1, response.getResults().size());
+    }
+
+    @Test
+    void testRegularUserCannotDecide() {
+        List<Long> ids = seedTasks(2, Task.Status.PENDING);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> taskService.decideTasks(ids, Task.Status.APPROVED, AuthenticatedUser.of(regularUser)));
+
+        assertEquals("Only managers and admins can approve tasks", exception.getMessage());
+        taskRepository.findAllById(ids).forEach(task -> assertEquals(Task.Status.PENDING, task.getStatus()));
+    }
+
+    private List<Long> seedTasks(int count, Task.Status status) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.MEDIUM);
+            task.setStatus(status);
+            task.setAssignedUserId(regularUser.getId());
+            task.setCreatedBy(regularUser.getId());
+            task.setCreatedDate(LocalDateTime.now().minusMinutes(i));
+            task.setScheduledDate(LocalDateTime.now().plusDays(1));
+            tasks.add(task);
+        }
+        return taskRepository.saveAllAndFlush(tasks).stream().map(Task::getId).toList();
+    }
+
+    private static User user(String name, User.Role role) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("secret");
+        user.setName(name);
+        user.setEmail(name + "@booking.com");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,203 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCalendarIndexTest {
+
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    // Stands in for the tasks table
+    private final Map<Long, TaskResponse> database = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final BiFunction<LocalDateTime, LocalDateTime, List<TaskResponse>> loader = (from, to) -> {
+        loads.incrementAndGet();
+        return database.values().stream()
+                .filter(task -> !task.getScheduledDate().isBefore(from) && !task.getScheduledDate().isAfter(to))
+                .toList();
+    };
+
+    private TaskCalendarIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskCalendarIndex(400);
+        for (long id = 1; id <= 300; id++) {
+            TaskResponse task = task(id, MONTH_START.plusHours(id * 2));
+            database.put(id, task);
+        }
+    }
+
+    @Test
+    void testRangeIsLoadedOnceThenServedFromMemory() {
+        LocalDateTime end = MONTH_START.plusMonths(1).minusNanos(1);
+
+        List<TaskResponse> first = index.findBetween(MONTH_START, end, loader);
+        List<TaskResponse> second = index.findBetween(MONTH_START, end, loader);
+        List<TaskResponse> week = index.findBetween(MONTH_START.plusDays(7), MONTH_START.plusDays(14), loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+        assertEquals(database.values().stream()
+                .filter(task -> task.getScheduledDate().isBefore(MONTH_START.plusMonths(1)))
+                .count(), first.size());
+        assertTrue(week.stream().allMatch(task -> !task.getScheduledDate().isBefore(MONTH_START.plusDays(7))
+                && !task.getScheduledDate().isAfter(MONTH_START.plusDays(14))));
+    }
+
+    @Test
+    void testResultsAreOrderedAndBoundsAreInclusive() {
+        LocalDateTime start = MONTH_START.plusHours(10);
+        LocalDateTime end = MONTH_START.plusHours(20);
+
+        List<TaskResponse> tasks = index.findBetween(start, end, loader);
+
+        assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L), tasks.stream().map(TaskResponse::getId).toList());
+    }
+
+    @Test
+    void testCommittedWritesUpdateLoadedDays() {
+        LocalDateTime end = MONTH_START.plusDays(3);
+        index.findBetween(MONTH_START, end, loader);
+
+        TaskResponse created = task(1000L, MONTH_START.plusDays(1));
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, created));
+        TaskResponse approved = task(3L, database.get(3L).getScheduledDate());
+        approved.setStatus(Task.Status.APPROVED);
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.APPROVED, approved));
+
+        List<TaskResponse> tasks = index.findBetween(MONTH_START, end, loader);
+
+        assertEquals(1, loads.get());
+        assertTrue(tasks.contains(created));
+        assertEquals(Task.Status.APPROVED, tasks.stream().filter(task -> task.getId() == 3L).findFirst()
+                .orElseThrow().getStatus());
+    }
+
+    @Test
+    void testWritesToUnqueriedDaysAreLeftToTheDatabase() {
+        TaskResponse created = task(1000L, MONTH_START.plusYears(1));
+        database.put(created.getId(), created);
+        index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, created));
+
+        List<TaskResponse> tasks = index.findBetween(MONTH_START.plusYears(1), MONTH_START.plusYears(1).plusDays(1), loader);
+
+        assertEquals(List.of(created), tasks);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLeastRecentlyQueriedDaysAreEvicted() {
+        TaskCalendarIndex small = new TaskCalendarIndex(10);
+
+        small.findBetween(MONTH_START, MONTH_START.plusDays(6), loader);
+        small.findBetween(MONTH_START.plusDays(7), MONTH_START.plusDays(13), loader);
+        small.findBetween(MONTH_START.plusDays(7), MONTH_START.plusDays(13), loader);
+        assertEquals(2, loads.get());
+
+        small.findBetween(MONTH_START, MONTH_START.plusDays(1), loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testConcurrentReadersSeeEveryCommittedWrite() throws Exception {
+        LocalDateTime end = MONTH_START.plusMonths(1).minusNanos(1);
+        int writers = 4;
+        int writesPerWriter = 250;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            long base = 10_000L * (w + 1);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < writesPerWriter; i++) {
+                    TaskResponse task = task(base + i, MONTH_START.plusMinutes(base % 997 + i * 37L));
+                    database.put(task.getId(), task);
+                    index.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task));
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < 8; r++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 200; i++) {
+                    index.findBetween(MONTH_START, end, loader);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<TaskResponse> expected = loader.apply(MONTH_START, end);
+        List<TaskResponse> actual = index.findBetween(MONTH_START, end, loader);
+        assertEquals(expected.size(), actual.size());
+    }
+
+    @Test
+    void testReadersNeverSeeDaysEvictedUnderThem() throws Exception {
+        // Room for two of the week-long ranges below, so every load evicts days another reader just checked
+        TaskCalendarIndex small = new TaskCalendarIndex(14);
+        int ranges = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int r = 0; r < 8; r++) {
+            int offset = r % ranges;
+            futures.add(executor.submit(() -> {
+                start.await();
+                LocalDateTime from = MONTH_START.plusDays(offset * 7L);
+                LocalDateTime to = from.plusDays(7).minusNanos(1);
+                int expected = loader.apply(from, to).size();
+                for (int i = 0; i < 500; i++) {
+                    assertEquals(expected, small.findBetween(from, to, loader).size());
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static TaskResponse task(Long id, LocalDateTime scheduledDate) {
+        TaskResponse task = new TaskResponse();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(Task.Status.PENDING);
+        task.setPriority(Task.Priority.MEDIUM);
+        task.setScheduledDate(scheduledDate);
+        task.setCreatedDate(MONTH_START.minusDays(1));
+        return task;
+    }
+}
@@ -0,0 +1,159 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.event.TaskChangedEvent;
+import com.booking.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventFeedTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private final AuthenticatedUser manager = new AuthenticatedUser(1L, "Manager", User.Role.MANAGER);
+    private final AuthenticatedUser user = new AuthenticatedUser(2L, "User", User.Role.USER);
+
+    private TaskEventFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void testUsersOnlyReceiveTheirOwnTasks() throws Exception {
+        feed = new TaskEventFeed(OBJECT_MAPPER, 16, 100, Duration.ofMinutes(1));
+        RecordingEmitter managerStream = new RecordingEmitter();
+        RecordingEmitter userStream = new RecordingEmitter();
+        feed.subscribe(manager, managerStream);
+        feed.subscribe(user, userStream);
+
+        feed.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task(10L, 1L, 1L)));
+        feed.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.APPROVED, task(11L, 2L, 1L)));
+        feed.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.REJECTED, task(12L, 1L, 2L)));
+
+        managerStream.await(3);
+        userStream.await(2);
+        assertEquals(List.of("created:10", "approved:11", "rejected:12"), managerStream.events());
+        assertEquals(List.of("approved:11", "rejected:12"), userStream.events());
+    }
+
+    @Test
+    void testSlowSubscriberDropsOldestAndIsToldToResync() throws Exception {
+        feed = new TaskEventFeed(OBJECT_MAPPER, 3, 100, Duration.ofMinutes(1));
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockFirstSend();
+        feed.subscribe(manager, slow);
+
+        feed.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task(1L, 1L, 1L)));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        for (long id = 2; id <= 6; id++) {
+            feed.onTaskChanged(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task(id, 1L, 1L)));
+        }
+        slow.release.countDown();
+
+        slow.await(5);
+        assertEquals(List.of("created:1", "resync:2", "created:4", "created:5", "created:6"), slow.events());
+    }
+
+    @Test
+    void testDisconnectedSubscriberIsRemoved() throws Exception {
+        feed = new TaskEventFeed(OBJECT_MAPPER, 16, 100, Duration.ofMinutes(1));
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.failSends();
+        feed.subscribe(manager, gone);
+        assertEquals(1, feed.subscriberCount());
+
+        feed.heartbeat();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void testSubscriberLimit() {
+        feed = new TaskEventFeed(OBJECT_MAPPER, 16, 1, Duration.ofMinutes(1));
+
+        assertNotNull(feed.subscribe(manager));
+        assertNull(feed.subscribe(user));
+    }
+
+    private static TaskResponse task(Long id, Long assignedUserId, Long createdBy) {
+        TaskResponse task = new TaskResponse();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(Task.Status.PENDING);
+        task.setAssignedUserId(assignedUserId);
+        task.setCreatedBy(createdBy);
+        return task;
+    }
+
+    // Records events as "name:task id" (or "name:data" for non-task events)
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private boolean blockFirst;
+        private boolean fail;
+
+        void blockFirstSend() {
+            blockFirst = true;
+        }
+
+        void failSends() {
+            fail = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            sending.countDown();
+            if (blockFirst) {
+                blockFirst = false;
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String raw = builder.build().stream().map(part -> part.getData().toString()).collect(Collectors.joining());
+            String name = raw.replaceFirst("(?s).*event:([^\\n]*)\\n.*", "$1");
+            if (!raw.contains("event:")) {
+                return;
+            }
+            String data = raw.replaceFirst("(?s).*data:([^\\n]*)\\n.*", "$1");
+            events.add(name + ":" + (data.startsWith("{") ? OBJECT_MAPPER.readTree(data).get("id").asText() : data));
+        }
+
+        List<String> events() {
+            return List.copyOf(events);
+        }
+
+        void await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+}
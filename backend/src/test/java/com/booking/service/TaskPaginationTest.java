@@ -0,0 +1,138 @@
+package com.booking.service;
+
+import com.booking.dto.TaskPage;
+import com.booking.dto.TaskQuery;
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.notification.NotificationOutbox;
+import com.booking.repository.TaskRepository;
+import com.booking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TaskService.class, TaskCalendarIndex.class, TaskSearchIndex.class, NotificationOutbox.class})
+class TaskPaginationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner"));
+        other = userRepository.save(user("other"));
+
+        // Several tasks share a createdDate so the id tie-breaker is exercised
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 57; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.MEDIUM);
+            task.setStatus(i % 3 == 0 ? Task.Status.APPROVED : Task.Status.PENDING);
+            task.setAssignedUserId(i % 2 == 0 ? owner.getId() : other.getId());
+            task.setCreatedBy(owner.getId());
+            task.setCreatedDate(base.plusMinutes(i / 4));
+            task.setScheduledDate(base.plusDays(1));
+            taskRepository.save(task);
+        }
+    }
+
+    @Test
+    void testWalkingAllPagesReturnsEveryTaskOnceInOrder() {
+        List<TaskResponse> seen = walk(null, null, 10);
+
+        assertEquals(57, seen.size());
+        assertEquals(57, new HashSet<>(seen.stream().map(TaskResponse::getId).toList()).size());
+        for (int i = 1; i < seen.size(); i++) {
+            TaskResponse previous = seen.get(i - 1);
+            TaskResponse current = seen.get(i);
+            int byDate = previous.getCreatedDate().compareTo(current.getCreatedDate());
+            assertTrue(byDate > 0 || (byDate == 0 && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void testFilteredPagesOnlyContainMatchingTasks() {
+        List<TaskResponse> approved = walk(Task.Status.APPROVED, null, 7);
+        assertEquals(19, approved.size());
+        assertTrue(approved.stream().allMatch(task -> task.getStatus() == Task.Status.APPROVED));
+
+        List<TaskResponse> assigned = walk(null, owner.getId(), 7);
+        assertEquals(29, assigned.size());
+        assertTrue(assigned.stream().allMatch(task -> owner.getId().equals(task.getAssignedUserId())));
+
+        List<TaskResponse> both = walk(Task.Status.APPROVED, owner.getId(), 4);
+        assertEquals(10, both.size());
+        assertTrue(both.stream().allMatch(task -> task.getStatus() == Task.Status.APPROVED
+                && owner.getId().equals(task.getAssignedUserId())));
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        TaskPage page = taskService.searchTaskPage(new TaskQuery(), null, 100);
+
+        assertEquals(57, page.getTasks().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testPageSizeIsCapped() {
+        TaskPage page = taskService.searchTaskPage(new TaskQuery(), null, 10_000);
+
+        assertEquals(57, page.getTasks().size());
+        assertTrue(TaskService.MAX_PAGE_SIZE >= page.getTasks().size());
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTaskPage(new TaskQuery(), "not-a-cursor", 10));
+    }
+
+    private List<TaskResponse> walk(Task.Status status, Long assignedUserId, int limit) {
+        List<TaskResponse> seen = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        TaskQuery query = new TaskQuery();
+        query.setStatus(status);
+        query.setAssignedUserId(assignedUserId);
+        String cursor = null;
+        do {
+            TaskPage page = taskService.searchTaskPage(query, cursor, limit);
+            assertTrue(page.getTasks().size() <= limit);
+            seen.addAll(page.getTasks());
+            cursor = page.getNextCursor();
+            assertTrue(cursor == null || cursors.add(cursor));
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("secret");
+        user.setName(name);
+        user.setEmail(name + "@booking.com");
+        user.setRole(User.Role.USER);
+        return user;
+    }
+}
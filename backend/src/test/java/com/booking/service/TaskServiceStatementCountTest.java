@@ -0,0 +1,184 @@
+package com.booking.service;
+
+import com.booking.dto.TaskQuery;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.notification.NotificationOutbox;
+import com.booking.repository.TaskRepository;
+import com.booking.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskService.class, TaskCalendarIndex.class, TaskSearchIndex.class, NotificationOutbox.class})
+class TaskServiceStatementCountTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User creator;
+    private User assignee;
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        creator = userRepository.save(user("creator", User.Role.USER));
+        assignee = userRepository.save(user("assignee", User.Role.USER));
+        manager = userRepository.save(user("approver", User.Role.MANAGER));
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithTaskCount() {
+        seedTasks(10);
+        long smallListStatements = countStatements(() -> taskService.getAllTasks());
+
+        seedTasks(490);
+        long largeListStatements = countStatements(() -> {
+            List<?> tasks = taskService.getAllTasks();
+            assertEquals(500, tasks.size());
+        });
+
+        assertEquals(2, smallListStatements);
+        assertEquals(smallListStatements, largeListStatements);
+    }
+
+    @Test
+    void testStatementCountForFilteredLists() {
+        seedTasks(200);
+
+        TaskQuery byStatus = new TaskQuery();
+        byStatus.setStatus(Task.Status.APPROVED);
+        TaskQuery byAssignee = new TaskQuery();
+        byAssignee.setAssignedUserId(assignee.getId());
+        TaskQuery byCreator = new TaskQuery();
+        byCreator.setCreatedBy(creator.getId());
+
+        assertEquals(2, countStatements(() -> taskService.searchTasks(byStatus)));
+        assertEquals(2, countStatements(() -> taskService.searchTasks(byAssignee)));
+        assertEquals(2, countStatements(() -> taskService.searchTasks(byCreator)));
+        assertEquals(2, countStatements(() -> taskService.getTasksByDateRange(
+                LocalDateTime.now().minusYears(1), LocalDateTime.now().plusYears(1))));
+    }
+
+    @Test
+    void testChunkedExportQueriesPerChunkAndResolvesNamesOnce() {
+        seedTasks(TaskService.EXPORT_CHUNK_SIZE * 2 + 100);
+        Set<Long> exportedIds = new HashSet<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        long statements = countStatements(() -> taskService.forEachTaskChunk(chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(task -> exportedIds.add(task.getId()));
+        }));
+
+        assertEquals(List.of(TaskService.EXPORT_CHUNK_SIZE, TaskService.EXPORT_CHUNK_SIZE, 100), chunkSizes);
+        assertEquals(TaskService.EXPORT_CHUNK_SIZE * 2 + 100, exportedIds.size());
+        // One statement per chunk plus a single name lookup shared by all chunks
+        assertEquals(4, statements);
+    }
+
+    // The export consumer writes to a client of any speed, so no connection or persistence context may be held
+    // while it runs. Runs outside the test transaction so only the export's own transactions are in play.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testExportHoldsNoTransactionWhileTheConsumerRuns() {
+        try {
+            seedTasks(TaskService.EXPORT_CHUNK_SIZE + 1);
+            List<Integer> chunkSizes = new ArrayList<>();
+
+            taskService.forEachTaskChunk(chunk -> {
+                assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+                assertFalse(TransactionSynchronizationManager.hasResource(entityManagerFactory));
+                chunkSizes.add(chunk.size());
+            });
+
+            assertEquals(List.of(TaskService.EXPORT_CHUNK_SIZE, 1), chunkSizes);
+        } finally {
+            taskRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void testUserNamesAreResolved() {
+        seedTasks(4);
+        entityManager.clear();
+
+        taskService.getAllTasks().forEach(task -> {
+            assertEquals("assignee", task.getAssignedUserName());
+            assertEquals("creator", task.getCreatedByName());
+            if (task.getStatus() == Task.Status.APPROVED) {
+                assertEquals("approver", task.getApprovedByName());
+            } else {
+                assertNull(task.getApprovedByName());
+            }
+        });
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.values()[i % Task.Priority.values().length]);
+            task.setAssignedUserId(assignee.getId());
+            task.setCreatedBy(creator.getId());
+            task.setCreatedDate(LocalDateTime.now().minusMinutes(i));
+            task.setScheduledDate(LocalDateTime.now().plusDays(i % 30));
+            if (i % 2 == 0) {
+                task.setStatus(Task.Status.APPROVED);
+                task.setApprovedBy(manager.getId());
+                task.setApprovalDate(LocalDateTime.now());
+            }
+            taskRepository.save(task);
+        }
+    }
+
+    private static User user(String name, User.Role role) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("secret");
+        user.setName(name);
+        user.setEmail(name + "@booking.com");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -4,19 +4,32 @@ import com.booking.entity.Task;
 import com.booking.entity.User;
 import com.booking.repository.TaskRepository;
 import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import com.booking.dto.TaskQuery;
 import com.booking.dto.TaskRequest;
 import com.booking.dto.TaskResponse;
+import com.booking.event.TaskChangedEvent;
+import com.booking.notification.NotificationOutbox;
+import com.booking.exception.TaskConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +41,15 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskCalendarIndex calendarIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -70,68 +92,133 @@ class TaskServiceTest {
         request.setScheduledDate(LocalDateTime.now().plusDays(2));
 
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findNamesByIdIn(Set.of(1L))).thenReturn(List.of(userName(testUser)));
 
         TaskResponse response = taskService.createTask(request, 1L);
 
         assertNotNull(response);
         assertEquals("Test Task", response.getTitle());
+        assertEquals("Test User", response.getAssignedUserName());
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.CREATED, response));
     }
 
     @Test
     void testApproveTask() {
+        when(taskRepository.decideAll(eq(List.of(1L)), eq(Task.Status.PENDING), eq(Task.Status.APPROVED),
+                eq(2L), any(LocalDateTime.class))).thenReturn(1);
+        testTask.setStatus(Task.Status.APPROVED);
+        testTask.setApprovedBy(2L);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(managerUser));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
-        TaskResponse response = taskService.approveTask(1L, 2L);
+        AuthenticatedUser manager = AuthenticatedUser.of(managerUser);
+        TaskResponse response = taskService.approveTask(1L, manager);
 
         assertNotNull(response);
-        assertEquals(Task.Status.APPROVED, testTask.getStatus());
-        assertEquals(2L, testTask.getApprovedBy());
-        assertNotNull(testTask.getApprovalDate());
-        verify(taskRepository, times(1)).save(testTask);
+        assertEquals(Task.Status.APPROVED, response.getStatus());
+        assertEquals(2L, response.getApprovedBy());
+        assertEquals("Manager User", response.getApprovedByName());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(userRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(TaskChangedEvent.Type.APPROVED, response));
+        verify(notificationOutbox).enqueueDecisions(List.of(testTask), manager);
     }
 
     @Test
     void testRejectTask() {
+        when(taskRepository.decideAll(eq(List.of(1L)), eq(Task.Status.PENDING), eq(Task.Status.REJECTED),
+                eq(2L), any(LocalDateTime.class))).thenReturn(1);
+        testTask.setStatus(Task.Status.REJECTED);
+        testTask.setApprovedBy(2L);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(managerUser));
-        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
-        TaskResponse response = taskService.rejectTask(1L, 2L);
+        TaskResponse response = taskService.rejectTask(1L, AuthenticatedUser.of(managerUser));
 
         assertNotNull(response);
-        assertEquals(Task.Status.REJECTED, testTask.getStatus());
-        assertEquals(2L, testTask.getApprovedBy());
-        assertNotNull(testTask.getApprovalDate());
-        verify(taskRepository, times(1)).save(testTask);
+        assertEquals(Task.Status.REJECTED, response.getStatus());
+        assertEquals(2L, response.getApprovedBy());
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
-    void testApprovalByNonManager_ShouldFail() {
+    void testDecidingAnAlreadyDecidedTask_ShouldConflict() {
+        when(taskRepository.decideAll(any(), any(), any(), any(), any())).thenReturn(0);
+        testTask.setStatus(Task.Status.REJECTED);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        TaskConflictException exception = assertThrows(TaskConflictException.class, () -> {
+            taskService.approveTask(1L, AuthenticatedUser.of(managerUser));
+        });
+
+        assertEquals(Task.Status.REJECTED, exception.getCurrentStatus());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(notificationOutbox, never()).enqueueDecisions(any(), any());
+    }
+
+    @Test
+    void testApprovalByNonManager_ShouldFail() {
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            taskService.approveTask(1L, 1L);
+            taskService.approveTask(1L, AuthenticatedUser.of(testUser));
         });
 
         assertEquals("Only managers and admins can approve tasks", exception.getMessage());
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).decideAll(any(), any(), any(), any(), any());
     }
 
     @Test
-    void testGetTasksByStatus() {
-        when(taskRepository.findByStatusOrderByPriorityDesc(Task.Status.PENDING))
-                .thenReturn(java.util.List.of(testTask));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    void testStatusFilterListsMostUrgentFirst() {
+        when(taskRepository.findAll(ArgumentMatchers.<Specification<Task>>any(), any(Sort.class)))
+                .thenReturn(List.of(testTask));
+        when(userRepository.findNamesByIdIn(Set.of(1L))).thenReturn(List.of(userName(testUser)));
+        TaskQuery byStatus = new TaskQuery();
+        byStatus.setStatus(Task.Status.PENDING);
 
-        var tasks = taskService.getTasksByStatus(Task.Status.PENDING);
+        var tasks = taskService.searchTasks(byStatus);
 
         assertNotNull(tasks);
         assertEquals(1, tasks.size());
-        verify(taskRepository, times(1)).findByStatusOrderByPriorityDesc(Task.Status.PENDING);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        verify(taskRepository, times(1)).findAll(ArgumentMatchers.<Specification<Task>>any(), sort.capture());
+        assertEquals(Sort.by("priorityRank", "scheduledDate", "id"), sort.getValue());
+    }
+
+    @Test
+    void testListConversionResolvesUserNamesInOneLookup() {
+        Task approvedTask = new Task();
+        approvedTask.setId(2L);
+        approvedTask.setTitle("Approved Task");
+        approvedTask.setPriority(Task.Priority.LOW);
+        approvedTask.setStatus(Task.Status.APPROVED);
+        approvedTask.setAssignedUserId(1L);
+        approvedTask.setCreatedBy(2L);
+        approvedTask.setApprovedBy(2L);
+        approvedTask.setScheduledDate(LocalDateTime.now().plusDays(3));
+
+        when(taskRepository.findAllByOrderByCreatedDateDesc()).thenReturn(List.of(testTask, approvedTask));
+        when(userRepository.findNamesByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(userName(testUser), userName(managerUser)));
+
+        List<TaskResponse> tasks = taskService.getAllTasks();
+
+        assertEquals(2, tasks.size());
+        assertEquals("Test User", tasks.get(0).getCreatedByName());
+        assertEquals("Manager User", tasks.get(1).getApprovedByName());
+        verify(userRepository, times(1)).findNamesByIdIn(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    private static UserRepository.UserName userName(User user) {
+        return new UserRepository.UserName() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getName() {
+                return user.getName();
+            }
+        };
     }
 }
@@ -0,0 +1,160 @@
+package com.booking.service;
+
+import com.booking.dto.TaskResponse;
+import com.booking.dto.TaskStatisticsResponse;
+import com.booking.entity.Task;
+import com.booking.event.TaskChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskStatisticsTest {
+
+    private static final Duration MAX_WRITE_DELAY = Duration.ofSeconds(10);
+
+    // Events only; the rebuild's own query is covered by EndpointQueryBudgetTest
+    private final TaskStatistics statistics = new TaskStatistics(null, MAX_WRITE_DELAY);
+
+    @Test
+    void testCountsFollowCreatesAndDecisions() {
+        statistics.onTaskChanged(created(1L, Task.Priority.HIGH, 10L));
+        statistics.onTaskChanged(created(2L, Task.Priority.LOW, 10L));
+        statistics.onTaskChanged(created(3L, Task.Priority.LOW, 20L));
+        statistics.onTaskChanged(decided(1L, Task.Priority.HIGH, 10L, Task.Status.APPROVED));
+        statistics.onTaskChanged(decided(3L, Task.Priority.LOW, 20L, Task.Status.REJECTED));
+
+        TaskStatisticsResponse stats = statistics.current();
+
+        assertEquals(3, stats.getTotal());
+        assertEquals(1, stats.getByStatus().get(Task.Status.PENDING));
+        assertEquals(1, stats.getByStatus().get(Task.Status.APPROVED));
+        assertEquals(1, stats.getByStatus().get(Task.Status.REJECTED));
+        assertEquals(1, stats.getByPriority().get(Task.Priority.HIGH));
+        assertEquals(0, stats.getByPriority().get(Task.Priority.MEDIUM));
+        assertEquals(2, stats.getByPriority().get(Task.Priority.LOW));
+
+        assertEquals(2, stats.getByAssignee().size());
+        TaskStatisticsResponse.AssigneeCount first = stats.getByAssignee().get(0);
+        assertEquals(10L, first.getUserId());
+        assertEquals("User 10", first.getUserName());
+        assertEquals(2, first.getTotal());
+        assertEquals(1, first.getByStatus().get(Task.Status.PENDING));
+        assertEquals(1, first.getByStatus().get(Task.Status.APPROVED));
+        assertEquals(1, stats.getByAssignee().get(1).getByStatus().get(Task.Status.REJECTED));
+    }
+
+    @Test
+    void testConcurrentWritesAreAllCounted() throws Exception {
+        int threads = 8;
+        int tasksPerThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long firstId = (long) t * tasksPerThread;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (long id = firstId; id < firstId + tasksPerThread; id++) {
+                        Task.Priority priority = Task.Priority.values()[(int) (id % 3)];
+                        long assignee = id % 5;
+                        statistics.onTaskChanged(created(id, priority, assignee));
+                        // Every other task is decided, alternating approve and reject
+                        if (id % 2 == 0) {
+                            Task.Status decision = id % 4 == 0 ? Task.Status.APPROVED : Task.Status.REJECTED;
+                            statistics.onTaskChanged(decided(id, priority, assignee, decision));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TaskStatisticsResponse stats = statistics.current();
+        long total = (long) threads * tasksPerThread;
+        assertEquals(total, stats.getTotal());
+        assertEquals(total / 2, stats.getByStatus().get(Task.Status.PENDING));
+        assertEquals(total / 4, stats.getByStatus().get(Task.Status.APPROVED));
+        assertEquals(total / 4, stats.getByStatus().get(Task.Status.REJECTED));
+        assertEquals(total, stats.getByAssignee().stream()
+                .mapToLong(TaskStatisticsResponse.AssigneeCount::getTotal)
+                .sum());
+    }
+
+    // A write landing while the query runs is replayed onto the rebuilt counts, and one the query already
+    // counted is not counted again when its event arrives after the swap
+    @Test
+    void testRebuildNeitherLosesNorRepeatsWrites() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        TaskStatistics rebuilt = new TaskStatistics(jdbcTemplate, MAX_WRITE_DELAY);
+        LocalDateTime counted = LocalDateTime.now().minusMinutes(1);
+        doAnswer(invocation -> {
+            rebuilt.onTaskChanged(created(2L, Task.Priority.LOW, 10L, LocalDateTime.now()));
+            ResultSet row = mock(ResultSet.class);
+            when(row.getString(1)).thenReturn("PENDING");
+            when(row.getString(2)).thenReturn("HIGH");
+            when(row.getObject(3, Long.class)).thenReturn(10L);
+            when(row.getString(4)).thenReturn("User 10");
+            when(row.getLong(5)).thenReturn(1L);
+            when(row.getTimestamp(6)).thenReturn(Timestamp.valueOf(counted));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any(), any());
+
+        rebuilt.rebuild();
+        rebuilt.onTaskChanged(created(1L, Task.Priority.HIGH, 10L, counted));
+
+        TaskStatisticsResponse stats = rebuilt.current();
+        assertEquals(2, stats.getTotal());
+        assertEquals(1, stats.getByPriority().get(Task.Priority.HIGH));
+        assertEquals(1, stats.getByPriority().get(Task.Priority.LOW));
+        assertEquals(2, rebuilt.writeCount());
+    }
+
+    private static TaskChangedEvent created(Long id, Task.Priority priority, Long assignee) {
+        return new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task(id, priority, assignee, Task.Status.PENDING));
+    }
+
+    private static TaskChangedEvent created(Long id, Task.Priority priority, Long assignee, LocalDateTime at) {
+        TaskResponse task = task(id, priority, assignee, Task.Status.PENDING);
+        task.setCreatedDate(at);
+        return new TaskChangedEvent(TaskChangedEvent.Type.CREATED, task);
+    }
+
+    private static TaskChangedEvent decided(Long id, Task.Priority priority, Long assignee, Task.Status status) {
+        TaskChangedEvent.Type type = status == Task.Status.APPROVED
+                ? TaskChangedEvent.Type.APPROVED
+                : TaskChangedEvent.Type.REJECTED;
+        return new TaskChangedEvent(type, task(id, priority, assignee, status));
+    }
+
+    private static TaskResponse task(Long id, Task.Priority priority, Long assignee, Task.Status status) {
+        TaskResponse task = new TaskResponse();
+        task.setId(id);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setAssignedUserId(assignee);
+        task.setAssignedUserName("User " + assignee);
+        return task;
+    }
+}
@@ -0,0 +1,137 @@
+package com.booking.service;
+
+import com.booking.entity.OutboxNotification;
+import com.booking.entity.Task;
+import com.booking.entity.User;
+import com.booking.exception.TaskConflictException;
+import com.booking.notification.NotificationOutbox;
+import com.booking.repository.OutboxNotificationRepository;
+import com.booking.repository.TaskRepository;
+import com.booking.repository.UserRepository;
+import com.booking.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs outside the test transaction so every decision commits on its own, as concurrent requests would
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskService.class, TaskCalendarIndex.class, TaskSearchIndex.class, NotificationOutbox.class})
+class TaskTransitionRaceTest {
+
+    private static final int TASKS = 20;
+    private static final int DECIDERS = 16;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxNotificationRepository outboxRepository;
+
+    private final List<User> managers = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 4; i++) {
+            User manager = new User();
+            manager.setUsername("manager" + i);
+            manager.setPassword("secret");
+            manager.setName("Manager " + i);
+            manager.setEmail("manager" + i + "@booking.com");
+            manager.setRole(User.Role.MANAGER);
+            managers.add(userRepository.save(manager));
+        }
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setPriority(Task.Priority.HIGH);
+            task.setStatus(Task.Status.PENDING);
+            task.setAssignedUserId(managers.get(0).getId());
+            task.setCreatedBy(managers.get(0).getId());
+            task.setScheduledDate(LocalDateTime.now().plusDays(1));
+            taskIds.add(taskRepository.save(task).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testExactlyOneDecisionWinsPerTask() throws Exception {
+        Map<Long, List<String>> winners = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(DECIDERS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int d = 0; d < DECIDERS; d++) {
+            User manager = managers.get(d % managers.size());
+            boolean approve = d % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (Long taskId : taskIds) {
+                    try {
+                        if (approve) {
+                            taskService.approveTask(taskId, AuthenticatedUser.of(manager));
+                        } else {
+                            taskService.rejectTask(taskId, AuthenticatedUser.of(manager));
+                        }
+                        winners.computeIfAbsent(taskId, id -> new CopyOnWriteArrayList<>())
+                                .add((approve ? "APPROVED:" : "REJECTED:") + manager.getId());
+                    } catch (TaskConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(TASKS, winners.size());
+        assertEquals(TASKS * (DECIDERS - 1), conflicts.get());
+        for (Task task : taskRepository.findAllById(taskIds)) {
+            List<String> taskWinners = winners.get(task.getId());
+            assertEquals(1, taskWinners.size(), "Task " + task.getId() + " decided by " + taskWinners);
+            // The stored row is exactly what the single winner wrote
+            assertEquals(task.getStatus() + ":" + task.getApprovedBy(), taskWinners.get(0));
+        }
+        // Losing transitions leave nothing behind in the outbox
+        List<OutboxNotification> notifications = outboxRepository.findAll();
+        assertEquals(TASKS, notifications.size());
+        assertEquals(TASKS, notifications.stream().map(OutboxNotification::getTaskId).distinct().count());
+    }
+}
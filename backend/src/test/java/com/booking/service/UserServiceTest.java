@@ -1,6 +1,7 @@
 package com.booking.service;
 
 import com.booking.entity.User;
+import com.booking.exception.PasswordCheckRejectedException;
 import com.booking.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -114,4 +115,35 @@ class UserServiceTest {
         assertTrue(isValid);
         verify(passwordEncoder, times(1)).matches("plainPassword", "encodedPassword");
     }
+
+    @Test
+    void testPasswordIsRehashedWhenTheCostFactorChanged() {
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("plainPassword")).thenReturn("strongerPassword");
+
+        userService.rehashPasswordIfNeeded(testUser, "plainPassword");
+
+        verify(userRepository, times(1)).updatePassword(1L, "encodedPassword", "strongerPassword");
+    }
+
+    @Test
+    void testCurrentHashIsKept() {
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(false);
+
+        userService.rehashPasswordIfNeeded(testUser, "plainPassword");
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).updatePassword(any(), any(), any());
+    }
+
+    @Test
+    void testRejectedRehashKeepsTheCurrentHash() {
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("plainPassword"))
+                .thenThrow(new PasswordCheckRejectedException("Too many sign-ins in progress, please retry shortly"));
+
+        assertDoesNotThrow(() -> userService.rehashPasswordIfNeeded(testUser, "plainPassword"));
+
+        verify(userRepository, never()).updatePassword(any(), any(), any());
+    }
 }
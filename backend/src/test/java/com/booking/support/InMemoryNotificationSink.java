@@ -0,0 +1,44 @@
+package com.booking.support;
+
+import com.booking.entity.OutboxNotification;
+import com.booking.notification.NotificationSink;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Collects delivered notifications; can be told to fail the next N deliveries
+public class InMemoryNotificationSink implements NotificationSink {
+
+    private final List<OutboxNotification> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private volatile long delayMillis;
+
+    @Override
+    public void deliver(OutboxNotification notification) throws Exception {
+        if (delayMillis > 0) {
+            Thread.sleep(delayMillis);
+        }
+        if (failuresToInject.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new IllegalStateException("Injected delivery failure");
+        }
+        delivered.add(notification);
+    }
+
+    public List<OutboxNotification> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    public void clear() {
+        delivered.clear();
+        failuresToInject.set(0);
+        delayMillis = 0;
+    }
+
+    public void failNext(int count) {
+        failuresToInject.set(count);
+    }
+
+    public void delayEachDelivery(long millis) {
+        this.delayMillis = millis;
+    }
+}
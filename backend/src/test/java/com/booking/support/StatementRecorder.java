@@ -0,0 +1,217 @@
+package com.booking.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Wraps the application DataSource and records every SQL statement executed together with its bind values
+public class StatementRecorder {
+
+    public record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    // Statements executed on any thread while the recording is open, e.g. during one request or transaction
+    public final class Recording implements AutoCloseable {
+
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private final AtomicInteger roundTrips = new AtomicInteger();
+
+        public List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        // A JDBC batch is one round trip however many rows it carries
+        public int roundTrips() {
+            return roundTrips.get();
+        }
+
+        public Recording assertAtMost(int budget, String description) {
+            assertTrue(roundTrips() <= budget, () -> description + " made " + roundTrips()
+                    + " statement round trips, budget is " + budget + ":\n" + statements.stream()
+                    .map(RecordedStatement::sql)
+                    .collect(Collectors.joining("\n")));
+            return this;
+        }
+
+        @Override
+        public void close() {
+            recordings.remove(this);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+    private final List<Recording> recordings = new CopyOnWriteArrayList<>();
+
+    public List<RecordedStatement> statements() {
+        return List.copyOf(statements);
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    public Recording start() {
+        Recording recording = new Recording();
+        recordings.add(recording);
+        return recording;
+    }
+
+    // Runs the action and returns the statements it executed
+    public Recording record(Action action) throws Exception {
+        try (Recording recording = start()) {
+            action.run();
+            return recording;
+        }
+    }
+
+    public List<RecordedStatement> statementsContaining(String fragment) {
+        return statements.stream()
+                .filter(statement -> statement.sql().contains(fragment))
+                .toList();
+    }
+
+    // Asks H2 for the plan of a recorded statement, bound with the values it was executed with
+    public static String explain(DataSource dataSource, RecordedStatement statement) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private void add(RecordedStatement statement) {
+        statements.add(statement);
+        for (Recording recording : recordings) {
+            recording.statements.add(statement);
+        }
+    }
+
+    private void roundTrip() {
+        for (Recording recording : recordings) {
+            recording.roundTrips.incrementAndGet();
+        }
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, invocation) -> {
+            Object result = invocation.proceed();
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, invocation) -> {
+            Object result = invocation.proceed();
+            if (method.getName().equals("prepareStatement")) {
+                return wrap((PreparedStatement) result, (String) args[0]);
+            }
+            if (method.getName().equals("createStatement")) {
+                return wrap((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (method, args, invocation) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                roundTrip();
+            } else if (name.startsWith("execute")) {
+                add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                roundTrip();
+            }
+            return invocation.proceed();
+        });
+    }
+
+    private Statement wrap(Statement statement) {
+        return proxy(Statement.class, statement, (method, args, invocation) -> {
+            String name = method.getName();
+            if ((name.startsWith("execute") || name.equals("addBatch")) && args != null && args.length > 0
+                    && args[0] instanceof String sql) {
+                add(new RecordedStatement(sql, Map.of()));
+            }
+            if (name.startsWith("execute")) {
+                roundTrip();
+            }
+            return invocation.proceed();
+        });
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object intercept(Method method, Object[] args, Invocation invocation) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(method, args, () -> {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+        return (T) Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementRecordingDataSourcePostProcessor(StatementRecorder recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
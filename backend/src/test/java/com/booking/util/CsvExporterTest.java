@@ -0,0 +1,70 @@
+package com.booking.util;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvExporterTest {
+
+    private final CsvExporter csvExporter = new CsvExporter();
+
+    @Test
+    void testRowsAreQuotedAndEscaped() {
+        TaskResponse task = task(7L, "Say \"hi\"", null);
+
+        String csv = new String(csvExporter.exportTasksToCsv(List.of(task)), StandardCharsets.UTF_8);
+        String[] lines = csv.split(System.lineSeparator());
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("ID,Title,Description"));
+        assertEquals("7,\"Say \"\"hi\"\"\",\"\",PENDING,HIGH,\"Regular User\",\"Manager User\","
+                + "2024-03-01 09:30,2024-03-04 14:00,\"\",", lines[1]);
+    }
+
+    @Test
+    void testApprovedRowIncludesApprover() {
+        TaskResponse task = task(8L, "Budget", "Q4, final");
+        task.setStatus(Task.Status.APPROVED);
+        task.setApprovedByName("Manager User");
+        task.setApprovalDate(LocalDateTime.of(2024, 3, 2, 8, 5));
+
+        String csv = new String(csvExporter.exportTasksToCsv(List.of(task)), StandardCharsets.UTF_8);
+
+        assertTrue(csv.contains("8,\"Budget\",\"Q4, final\",APPROVED,HIGH,\"Regular User\",\"Manager User\","
+                + "2024-03-01 09:30,2024-03-04 14:00,\"Manager User\",2024-03-02 08:05"));
+    }
+
+    @Test
+    void testStreamingWriterMatchesBufferedExport() throws Exception {
+        List<TaskResponse> tasks = List.of(task(1L, "First", "a"), task(2L, "Second", "b"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (CsvExporter.TaskCsvWriter writer = csvExporter.open(out)) {
+            for (TaskResponse task : tasks) {
+                writer.writeRow(task);
+            }
+        }
+
+        assertArrayEquals(csvExporter.exportTasksToCsv(tasks), out.toByteArray());
+    }
+
+    private static TaskResponse task(Long id, String title, String description) {
+        TaskResponse task = new TaskResponse();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(Task.Status.PENDING);
+        task.setPriority(Task.Priority.HIGH);
+        task.setAssignedUserName("Regular User");
+        task.setCreatedByName("Manager User");
+        task.setCreatedDate(LocalDateTime.of(2024, 3, 1, 9, 30));
+        task.setScheduledDate(LocalDateTime.of(2024, 3, 4, 14, 0));
+        return task;
+    }
+}
@@ -0,0 +1,97 @@
+package com.booking.util;
+
+import com.booking.entity.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskImportReaderTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testCsvColumnsAreMatchedByHeaderAndQuotesAreHonoured() throws Exception {
+        String csv = "\uFEFFScheduled Date,assigned_user_id,Title,Priority,Description\r\n"
+                + "2030-01-05T10:00,3,\"Say \"\"hi\"\"\",high,\"Line one\nline two, with comma\"\r\n"
+                + "\r\n"
+                + "2030-01-06 09:30,4,Plain,low,\n";
+
+        List<TaskImportReader.Row> rows = read(csv, TaskImportReader.Format.CSV);
+
+        assertEquals(2, rows.size());
+        TaskImportReader.Row first = rows.get(0);
+        assertEquals(1, first.number());
+        assertEquals("Say \"hi\"", first.request().getTitle());
+        assertEquals("Line one\nline two, with comma", first.request().getDescription());
+        assertEquals(Task.Priority.HIGH, first.request().getPriority());
+        assertEquals(3L, first.request().getAssignedUserId());
+        assertEquals(LocalDateTime.of(2030, 1, 5, 10, 0), first.request().getScheduledDate());
+
+        TaskImportReader.Row second = rows.get(1);
+        assertEquals(3, second.number());
+        assertNull(second.request().getDescription());
+        assertEquals(LocalDateTime.of(2030, 1, 6, 9, 30), second.request().getScheduledDate());
+    }
+
+    @Test
+    void testUnparseableCsvValuesBecomeRowErrors() throws Exception {
+        String csv = "title,priority,assignedUserId,scheduledDate\n"
+                + "A,URGENT,3,2030-01-05T10:00\n"
+                + "B,LOW,three,2030-01-05T10:00\n"
+                + "C,LOW,3,next tuesday\n"
+                + "D,,3,2030-01-05T10:00\n";
+
+        List<TaskImportReader.Row> rows = read(csv, TaskImportReader.Format.CSV);
+
+        assertEquals("Priority must be one of LOW, MEDIUM, HIGH", rows.get(0).error());
+        assertEquals("Assigned user id is not a number", rows.get(1).error());
+        assertEquals("Scheduled date 'next tuesday' is not a date and time", rows.get(2).error());
+        // Missing values are left for validation to report
+        assertNull(rows.get(3).error());
+        assertNull(rows.get(3).request().getPriority());
+    }
+
+    @Test
+    void testCsvHeaderMustNameTheRequiredColumns() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> read("title,description\nA,B\n", TaskImportReader.Format.CSV));
+
+        assertEquals("CSV header is missing columns: priority, assigneduserid, scheduleddate", e.getMessage());
+    }
+
+    @Test
+    void testNdjsonLinesAreReadIndependently() throws Exception {
+        String ndjson = "{\"title\":\"A\",\"priority\":\"LOW\",\"assignedUserId\":3,\"scheduledDate\":\"2030-01-05T10:00:00\"}\n"
+                + "{\"title\":\"B\",\"priority\":\n"
+                + "\n"
+                + "{\"title\":\"C\",\"priority\":\"HIGH\",\"assignedUserId\":4,\"scheduledDate\":\"2030-01-06T10:00:00\"}\n";
+
+        List<TaskImportReader.Row> rows = read(ndjson, TaskImportReader.Format.NDJSON);
+
+        assertEquals(3, rows.size());
+        assertEquals("A", rows.get(0).request().getTitle());
+        assertTrue(rows.get(1).error().startsWith("Invalid JSON"));
+        assertEquals(4, rows.get(2).number());
+        assertEquals(Task.Priority.HIGH, rows.get(2).request().getPriority());
+    }
+
+    private static List<TaskImportReader.Row> read(String content, TaskImportReader.Format format) throws IOException {
+        List<TaskImportReader.Row> rows = new ArrayList<>();
+        try (TaskImportReader reader = TaskImportReader.open(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, OBJECT_MAPPER)) {
+            TaskImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,98 @@
+package com.booking.util;
+
+import com.booking.entity.Task;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTextIndexTest {
+
+    private final TaskTextIndex index = new TaskTextIndex(64);
+
+    @Test
+    void testTokensAreFoldedAndStopWordsDropped() {
+        assertEquals(List.of("cafe", "meeting", "q3", "planning"),
+                TaskTextIndex.tokenize("Café meeting: the Q3-planning!"));
+        assertEquals(List.of(), TaskTextIndex.tokenize(null));
+    }
+
+    @Test
+    void testEveryWordMustMatchWholeOrAsPrefix() {
+        index.add(1, "Quarterly budget review", "Go through the finance numbers", Task.Status.PENDING, 10L);
+        index.add(2, "Budget meeting", null, Task.Status.PENDING, 10L);
+        index.add(3, "Team lunch", "Book a table near the office", Task.Status.PENDING, 20L);
+
+        assertEquals(List.of(1L), index.search("budget finance", null, null, 10).ids());
+        assertEquals(List.of(1L), index.search("budg fin", null, null, 10).ids());
+        assertEquals(2, index.search("BUDGET", null, null, 10).totalHits());
+        assertEquals(0, index.search("budget lunch", null, null, 10).totalHits());
+        assertEquals(0, index.search("the", null, null, 10).totalHits());
+        // Single letters are not expanded, or one keystroke would match most of the index
+        assertEquals(0, index.search("b", null, null, 10).totalHits());
+    }
+
+    @Test
+    void testTitleWordsOutrankDescriptionWordsAndExactOutranksPrefix() {
+        index.add(1, "Prepare slides", "Slides for the report meeting", Task.Status.PENDING, 10L);
+        index.add(2, "Report to the board", "Slides are optional", Task.Status.PENDING, 10L);
+        index.add(3, "Reporting dashboard", "Fix the charts", Task.Status.PENDING, 10L);
+        index.add(4, "Archive old files", "Nothing about it", Task.Status.PENDING, 10L);
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("report", null, null, 10).ids());
+        assertEquals(List.of(2L), index.search("report", null, null, 1).ids());
+        assertEquals(3, index.search("report", null, null, 1).totalHits());
+    }
+
+    @Test
+    void testFiltersFollowStatusChanges() {
+        index.add(1, "Renew parking permit", null, Task.Status.PENDING, 10L);
+        index.add(2, "Renew passport", null, Task.Status.PENDING, 20L);
+        index.add(3, "Renew lease", null, Task.Status.PENDING, 20L);
+
+        index.updateStatus(2, Task.Status.APPROVED);
+        // A second add of the same task is ignored
+        assertFalse(index.add(2, "Renew passport", null, Task.Status.PENDING, 20L));
+
+        assertEquals(List.of(3L, 1L), index.search("renew", Task.Status.PENDING, null, 10).ids());
+        assertEquals(List.of(2L), index.search("renew", Task.Status.APPROVED, 20L, 10).ids());
+        assertEquals(List.of(3L), index.search("renew", Task.Status.PENDING, 20L, 10).ids());
+    }
+
+    @Test
+    void testSearchesRunWhileTasksAreAdded() throws Exception {
+        int tasks = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (long id = 1; id <= tasks; id++) {
+                    index.add(id, "Task number " + id, "Filed under group" + (id % 10), Task.Status.PENDING, id % 7);
+                }
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!writer.isDone()) {
+                        TaskTextIndex.Result result = index.search("task group3", null, null, 20);
+                        assertTrue(result.ids().size() <= 20);
+                    }
+                    return null;
+                }));
+            }
+            writer.get();
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(tasks, index.size());
+        assertEquals(tasks / 10, index.search("task group3", null, null, 20).totalHits());
+        assertEquals(tasks / 10, index.search("group3", Task.Status.PENDING, null, 20).totalHits());
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.benchmarks;
+
+import com.booking.dto.TaskResponse;
+import com.booking.util.CsvExporter;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvExportBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    private final CsvExporter csvExporter = new CsvExporter();
+    private List<TaskResponse> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = TaskDataset.responses(taskCount);
+    }
+
+    // Whole export materialised as one byte array
+    @Benchmark
+    public byte[] exportToByteArray() {
+        return csvExporter.exportTasksToCsv(tasks);
+    }
+
+    // Streaming export as used by the CSV endpoint, written to a sink that discards the bytes
+    @Benchmark
+    public void exportToStream() throws IOException {
+        try (CsvExporter.TaskCsvWriter writer = csvExporter.open(OutputStream.nullOutputStream())) {
+            for (TaskResponse task : tasks) {
+                writer.writeRow(task);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.booking.benchmarks;
+
+import com.booking.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one login password check at the encoder strengths we might run with
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private UserService userService;
+    private String encodedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        userService = new UserService(null, encoder);
+        encodedPassword = encoder.encode("password123");
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return userService.validatePassword("password123", encodedPassword);
+    }
+}
@@ -0,0 +1,53 @@
+package com.booking.benchmarks;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.repository.TaskRepository;
+import com.booking.repository.UserRepository;
+import com.booking.service.TaskCalendarIndex;
+import com.booking.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// TaskService.getAllTasks with the repositories stubbed in memory, so only entity-to-response conversion
+// and user-name resolution are measured
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskConversionBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Task> tasks = TaskDataset.tasks(taskCount);
+        List<UserRepository.UserName> userNames = TaskDataset.userNames();
+        TaskRepository taskRepository = stub(TaskRepository.class, "findAllByOrderByCreatedDateDesc", tasks);
+        UserRepository userRepository = stub(UserRepository.class, "findNamesByIdIn", userNames);
+        taskService = new TaskService(taskRepository, userRepository, new TaskCalendarIndex(400), null, event -> {
+        }, null, null);
+    }
+
+    @Benchmark
+    public List<TaskResponse> convertAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, String method, Object result) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, invoked, args) -> {
+            if (invoked.getName().equals(method)) {
+                return result;
+            }
+            throw new UnsupportedOperationException(invoked.getName());
+        });
+    }
+}
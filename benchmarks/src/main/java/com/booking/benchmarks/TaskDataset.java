@@ -0,0 +1,73 @@
+package com.booking.benchmarks;
+
+import com.booking.dto.TaskResponse;
+import com.booking.entity.Task;
+import com.booking.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic task data shaped like the demo data: a few hundred users, mixed statuses and priorities
+final class TaskDataset {
+
+    static final int USER_COUNT = 500;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private TaskDataset() {
+    }
+
+    static List<Task> tasks(int count) {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription(i % 4 == 0 ? null : "Description for task " + i + ", with a comma");
+            task.setPriority(Task.Priority.values()[random.nextInt(3)]);
+            task.setStatus(Task.Status.values()[random.nextInt(3)]);
+            task.setAssignedUserId((long) random.nextInt(USER_COUNT) + 1);
+            task.setCreatedBy((long) random.nextInt(USER_COUNT) + 1);
+            task.setCreatedDate(BASE.minusMinutes(i));
+            task.setScheduledDate(BASE.plusHours(random.nextInt(24 * 365)));
+            if (task.getStatus() != Task.Status.PENDING) {
+                task.setApprovedBy((long) random.nextInt(USER_COUNT) + 1);
+                task.setApprovalDate(task.getCreatedDate().plusHours(2));
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static List<TaskResponse> responses(int count) {
+        List<TaskResponse> responses = new ArrayList<>(count);
+        for (Task task : tasks(count)) {
+            responses.add(new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                    task.getPriority(), task.getAssignedUserId(), "User " + task.getAssignedUserId(),
+                    task.getCreatedBy(), "User " + task.getCreatedBy(), task.getCreatedDate(),
+                    task.getScheduledDate(), task.getApprovedBy(),
+                    task.getApprovedBy() != null ? "User " + task.getApprovedBy() : null, task.getApprovalDate()));
+        }
+        return responses;
+    }
+
+    static List<UserRepository.UserName> userNames() {
+        List<UserRepository.UserName> names = new ArrayList<>(USER_COUNT);
+        for (long id = 1; id <= USER_COUNT; id++) {
+            long userId = id;
+            names.add(new UserRepository.UserName() {
+                @Override
+                public Long getId() {
+                    return userId;
+                }
+
+                @Override
+                public String getName() {
+                    return "User " + userId;
+                }
+            });
+        }
+        return names;
+    }
+}
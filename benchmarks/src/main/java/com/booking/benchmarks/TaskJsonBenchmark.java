@@ -0,0 +1,41 @@
+package com.booking.benchmarks;
+
+import com.booking.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialises task lists with an ObjectMapper configured the way Spring MVC configures its own
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskJsonBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<TaskResponse> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = TaskDataset.responses(taskCount);
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public void serializeToStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), tasks);
+    }
+}
@@ -0,0 +1,59 @@
+package com.booking.benchmarks;
+
+import com.booking.dto.TaskColumns;
+import com.booking.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// A task list response as the default JSON array against the TaskColumns form, plain and gzipped at the
+// default level as Tomcat compresses it. Columns time includes building TaskColumns, as a request would.
+// Response sizes are printed once per trial, ahead of the timings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskListFormatBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int taskCount;
+
+    @Param({"json", "columns"})
+    private String format;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<TaskResponse> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tasks = TaskDataset.responses(taskCount);
+        System.out.printf("%n%s, %d tasks: %d bytes, %d bytes gzipped%n",
+                format, taskCount, serialize().length, serializeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(body());
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, body());
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object body() {
+        return "columns".equals(format) ? TaskColumns.of(tasks, ZoneId.systemDefault()) : tasks;
+    }
+}
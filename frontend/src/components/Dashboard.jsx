@@ -21,15 +21,17 @@ const Dashboard = () => {
 
     const loadDashboardData = async () => {
         try {
-            const allTasks = await taskService.getAllTasks();
+            const [counts, recent] = await Promise.all([
+                taskService.getTaskStats(),
+                taskService.getAllTasks({ limit: 5 }),
+            ]);
 
-            // Calculate stats
-            const pending = allTasks.filter(t => t.status === 'PENDING').length;
-            const approved = allTasks.filter(t => t.status === 'APPROVED').length;
-            const rejected = allTasks.filter(t => t.status === 'REJECTED').length;
-
-            setStats({ pending, approved, rejected });
-            setRecentTasks(allTasks.slice(0, 5));
+            setStats({
+                pending: counts.byStatus.PENDING,
+                approved: counts.byStatus.APPROVED,
+                rejected: counts.byStatus.REJECTED,
+            });
+            setRecentTasks(recent.tasks);
         } catch (error) {
             console.error('Error loading dashboard:', error);
         } finally {
@@ -10,16 +10,41 @@ const TaskList = () => {
     const [loading, setLoading] = useState(true);
     const [statusFilter, setStatusFilter] = useState('ALL');
     const [sortBy, setSortBy] = useState('date');
+    const [searchText, setSearchText] = useState('');
+    // Ranked matches while a search is typed, null otherwise
+    const [searchResults, setSearchResults] = useState(null);
     const navigate = useNavigate();
 
     useEffect(() => {
         loadTasks();
+        // Changes are pushed by the server, so the list never needs to poll
+        return taskService.subscribeToTaskEvents((task) => {
+            setTasks((current) => [task, ...current.filter((existing) => existing.id !== task.id)]);
+        }, loadTasks);
     }, []);
 
     useEffect(() => {
         applyFiltersAndSort();
     }, [tasks, statusFilter, sortBy]);
 
+    useEffect(() => {
+        if (!searchText.trim()) {
+            setSearchResults(null);
+            return undefined;
+        }
+        // Waits for a pause in typing rather than searching on every keystroke
+        const timer = setTimeout(async () => {
+            try {
+                const status = statusFilter !== 'ALL' ? statusFilter : undefined;
+                const data = await taskService.searchTasks(searchText, { status });
+                setSearchResults(data.tasks);
+            } catch (error) {
+                console.error('Error searching tasks:', error);
+            }
+        }, 250);
+        return () => clearTimeout(timer);
+    }, [searchText, statusFilter]);
+
     const loadTasks = async () => {
         try {
             const data = await taskService.getAllTasks();
@@ -61,6 +86,8 @@ const TaskList = () => {
         }
     };
 
+    const visibleTasks = searchResults ?? filteredTasks;
+
     if (loading) {
         return <div className="loading">Loading tasks...</div>;
     }
@@ -80,6 +107,16 @@ const TaskList = () => {
             </div>
 
             <div className="filters-bar">
+                <div className="filter-group">
+                    <label>Search:</label>
+                    <input
+                        type="search"
+                        value={searchText}
+                        placeholder="Title or description"
+                        onChange={(e) => setSearchText(e.target.value)}
+                    />
+                </div>
+
                 <div className="filter-group">
                     <label>Status:</label>
                     <select value={statusFilter} onChange={(e) => setStatusFilter(e.target.value)}>
@@ -100,17 +137,17 @@ const TaskList = () => {
                 </div>
 
                 <div className="task-count">
-                    {filteredTasks.length} task{filteredTasks.length !== 1 ? 's' : ''}
+                    {visibleTasks.length} task{visibleTasks.length !== 1 ? 's' : ''}
                 </div>
             </div>
 
             <div className="tasks-grid">
-                {filteredTasks.length === 0 ? (
+                {visibleTasks.length === 0 ? (
                     <div className="no-tasks">
                         <p>No tasks found</p>
                     </div>
                 ) : (
-                    filteredTasks.map(task => (
+                    visibleTasks.map(task => (
                         <TaskCard
                             key={task.id}
                             task={task}
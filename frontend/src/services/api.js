@@ -8,6 +8,15 @@ const api = axios.create({
     },
 });
 
+// In the stateless auth mode login returns a token, which is sent with every request
+api.interceptors.request.use((config) => {
+    const user = JSON.parse(localStorage.getItem('user') || 'null');
+    if (user?.token) {
+        config.headers.Authorization = `Bearer ${user.token}`;
+    }
+    return config;
+});
+
 // Response interceptor for error handling
 api.interceptors.response.use(
     (response) => response,
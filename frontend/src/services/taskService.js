@@ -1,5 +1,34 @@
 import api from './api';
 
+// Columnar list form: field names once, dates as epoch milliseconds, user names sent once per user
+const TASK_COLUMNS = 'application/vnd.booking.tasks+json';
+
+// Rebuilds the task objects the JSON form would have carried, dates as ISO strings
+const decodeTaskColumns = (columns) => {
+    const date = (millis) => (millis == null ? null : new Date(millis).toISOString());
+    const userName = (id) => (id == null ? null : columns.users[id] ?? null);
+    const tasks = new Array(columns.count);
+    for (let i = 0; i < columns.count; i++) {
+        tasks[i] = {
+            id: columns.id[i],
+            title: columns.title[i],
+            description: columns.description[i],
+            status: columns.status[i],
+            priority: columns.priority[i],
+            assignedUserId: columns.assignedUserId[i],
+            assignedUserName: userName(columns.assignedUserId[i]),
+            createdBy: columns.createdBy[i],
+            createdByName: userName(columns.createdBy[i]),
+            createdDate: date(columns.createdDate[i]),
+            scheduledDate: date(columns.scheduledDate[i]),
+            approvedBy: columns.approvedBy[i],
+            approvedByName: userName(columns.approvedBy[i]),
+            approvalDate: date(columns.approvalDate[i]),
+        };
+    }
+    return tasks;
+};
+
 export const taskService = {
     createTask: async (taskData) => {
         const response = await api.post('/tasks', taskData);
@@ -11,8 +40,51 @@ export const taskService = {
         if (filters.status) params.append('status', filters.status);
         if (filters.assignedUserId) params.append('assignedUserId', filters.assignedUserId);
         if (filters.createdBy) params.append('createdBy', filters.createdBy);
+        // With a limit the server answers with one keyset page ({ tasks, nextCursor }) instead of the full list
+        if (filters.limit) params.append('limit', filters.limit);
+
+        // The full list is the largest response the app loads, so it asks for the compact form
+        const response = await api.get(`/tasks?${params.toString()}`, { headers: { Accept: TASK_COLUMNS } });
+        const tasks = decodeTaskColumns(response.data);
+        return filters.limit ? { tasks, nextCursor: response.data.nextCursor } : tasks;
+    },
+
+    // Streams created/approved/rejected tasks from the server; returns a function that closes the stream.
+    // onResync is called when events may have been missed (a reconnect, or the server dropped some).
+    subscribeToTaskEvents: (onTask, onResync) => {
+        const user = JSON.parse(localStorage.getItem('user') || 'null');
+        // EventSource cannot send the bearer header, so token mode keeps loading on demand
+        if (user?.token || typeof EventSource === 'undefined') {
+            return () => {};
+        }
+
+        const source = new EventSource('/api/tasks/events', { withCredentials: true });
+        let opened = false;
+        source.onopen = () => {
+            if (opened) {
+                onResync();
+            }
+            opened = true;
+        };
+        ['created', 'approved', 'rejected'].forEach((type) => {
+            source.addEventListener(type, (event) => onTask(JSON.parse(event.data)));
+        });
+        source.addEventListener('resync', onResync);
+        return () => source.close();
+    },
+
+    // Ranked keyword search over title and description; resolves to { totalHits, tasks }
+    searchTasks: async (text, filters = {}) => {
+        const params = { q: text };
+        if (filters.status) params.status = filters.status;
+        if (filters.assignedUserId) params.assignedUserId = filters.assignedUserId;
+        const response = await api.get('/tasks/search', { params });
+        return response.data;
+    },
 
-        const response = await api.get(`/tasks?${params.toString()}`);
+    // Counts by status, priority and assignee, served from server-side counters
+    getTaskStats: async () => {
+        const response = await api.get('/tasks/stats');
         return response.data;
     },
 